@@ -0,0 +1,221 @@
+package com.oauth.client_app.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📈 CONCURRENT USERS PER CORE - servlet vs reactive client-app
+ *
+ * Mawa! Closed-loop virtual users: prathi user request pampi, response vachaka ventane next (think time ledu).
+ * Users count levels lo penchutam (50, 100, 200, ...). Prathi level lo warmup tarvata latency + errors kolustam.
+ *
+ * Level "pass" = error rate ≤ max-error-rate AND p99 ≤ p99-limit. Last passing level / server cores = answer.
+ * Servlet version Tomcat threads daggara aagipotundi (slow downstream lo prathi user okka thread);
+ * reactive version connection pool daaka veltundi.
+ *
+ * Usage (see README.md): java -jar target/loadtest.jar --target=http://localhost:8082/api/photos --cookie=SESSION=...
+ */
+public final class ConcurrencyLoadTest {
+
+    private ConcurrencyLoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        URI target = URI.create(require(options, "target"));
+        String cookie = options.get("cookie");
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "50,100,200,400,800,1600,3200").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        Duration warmup = duration(options.getOrDefault("warmup", "3s"));
+        Duration measure = duration(options.getOrDefault("duration", "15s"));
+        Duration p99Limit = duration(options.getOrDefault("p99-limit", "2s"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0.01"));
+        int serverCores = Integer.parseInt(options.getOrDefault("server-cores",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                // Session expire aithe 302 → login; adi error ga count avvali, follow kaadu
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(30)).GET();
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        HttpRequest request = builder.build();
+
+        System.out.println("🎯 Target: " + target + "  (server cores: " + serverCores + ", pass: p99 ≤ "
+                + p99Limit.toMillis() + " ms, errors ≤ " + maxErrorRate * 100 + "%)");
+        System.out.printf("%8s %10s %10s %10s %10s %8s  %s%n", "users", "req/s", "p50 ms", "p99 ms", "max ms",
+                "errors", "result");
+
+        int maxPassing = 0;
+        for (int users : levels) {
+            LevelResult result = runLevel(client, request, users, warmup, measure);
+            boolean pass = result.errorRate() <= maxErrorRate && result.percentileMillis(0.99) <= p99Limit.toMillis();
+            System.out.printf("%8d %10.1f %10d %10d %10d %7.2f%%  %s%n", users, result.throughput(measure),
+                    result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0),
+                    result.errorRate() * 100, pass ? "✅" : "❌");
+            if (!pass) {
+                break;
+            }
+            maxPassing = users;
+            Thread.sleep(2000); // connections settle avvali
+        }
+
+        System.out.println();
+        System.out.printf("🏁 Max concurrent users within limits: %d → %.1f per core%n", maxPassing,
+                (double) maxPassing / serverCores);
+        System.exit(0);
+    }
+
+    // ========== One level ==========
+
+    private record LevelResult(long[] latenciesNanos, long errors) {
+
+        long requests() {
+            return latenciesNanos.length + errors;
+        }
+
+        double errorRate() {
+            return requests() == 0 ? 1.0 : (double) errors / requests();
+        }
+
+        double throughput(Duration measure) {
+            return requests() / (measure.toMillis() / 1000.0);
+        }
+
+        long percentileMillis(double percentile) {
+            if (latenciesNanos.length == 0) {
+                return Long.MAX_VALUE;
+            }
+            int index = (int) Math.ceil(percentile * latenciesNanos.length) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(latenciesNanos[Math.max(0, index)]);
+        }
+    }
+
+    private static final class User implements Runnable {
+
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final long measureFrom;
+        private final long measureUntil;
+        private long[] latencies = new long[256];
+        private int count;
+        private long errors;
+
+        User(HttpClient client, HttpRequest request, long measureFrom, long measureUntil) {
+            this.client = client;
+            this.request = request;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        @Override
+        public void run() {
+            long now;
+            while ((now = System.nanoTime()) < measureUntil) {
+                long start = now;
+                boolean ok;
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    ok = response.statusCode() == 200;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception ex) {
+                    ok = false;
+                }
+                // Warmup lo / window tarvata start ayinavi count cheyyam
+                if (start < measureFrom || start >= measureUntil) {
+                    continue;
+                }
+                if (!ok) {
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+    }
+
+    private static LevelResult runLevel(HttpClient client, HttpRequest request, int users, Duration warmup,
+            Duration measure) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + measure.toNanos();
+        List<User> running = new ArrayList<>(users);
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User(client, request, measureFrom, measureUntil);
+            running.add(user);
+            threads.add(Thread.ofVirtual().name("user-" + i).start(user));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int total = running.stream().mapToInt(user -> user.count).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        long errors = 0;
+        for (User user : running) {
+            System.arraycopy(user.latencies, 0, all, offset, user.count);
+            offset += user.count;
+            errors += user.errors;
+        }
+        Arrays.sort(all);
+        return new LevelResult(all, errors);
+    }
+
+    // ========== Args ==========
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name + "=...");
+        }
+        return value;
+    }
+
+    // "500ms" / "15s" / "2m"
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(text));
+    }
+}
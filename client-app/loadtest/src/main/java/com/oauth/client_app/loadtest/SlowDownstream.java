@@ -0,0 +1,47 @@
+package com.oauth.client_app.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * 🐢 Stand-in resource-server: every request answers after a fixed delay.
+ *
+ * Real resource-server JWT validate chestundi, DB chaduvutundi - load test lo manaki kavalsindi "slow downstream" matrame.
+ * BFF Bearer token ni ikkada check cheyyam. Virtual threads - delay lo thousands requests park avtayi.
+ *
+ * Usage: java -cp target/loadtest.jar com.oauth.client_app.loadtest.SlowDownstream [port] [delay, e.g. 500ms]
+ */
+public final class SlowDownstream {
+
+    private SlowDownstream() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8091;
+        Duration delay = args.length > 1 ? ConcurrencyLoadTest.duration(args[1]) : Duration.ofMillis(500);
+        byte[] body = "{\"photos\":[{\"id\":1,\"title\":\"Beach\"},{\"id\":2,\"title\":\"Hills\"}]}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                Thread.sleep(delay);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        System.out.println("🐢 Slow downstream on :" + port + " - every response after " + delay.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,13 @@
+package com.oauth.client_app.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveClientAppApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveClientAppApplication.class, args);
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.oauth.client_app.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
+import org.springframework.security.oauth2.client.web.DefaultReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.web.server.DefaultServerOAuth2AuthorizationRequestResolver;
+import org.springframework.security.oauth2.client.web.server.ServerOAuth2AuthorizationRequestResolver;
+import org.springframework.security.oauth2.client.web.server.ServerOAuth2AuthorizedClientRepository;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.RedirectServerAuthenticationSuccessHandler;
+import org.springframework.security.web.server.authentication.logout.RedirectServerLogoutSuccessHandler;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 🔐 Servlet SecurityConfig ki reactive jodi - same rules, same redirects.
+ * Session = WebSession (cookie "SESSION"), authorized clients kuda WebSession lo.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain filterChain(ServerHttpSecurity http,
+            ReactiveClientRegistrationRepository clientRegistrationRepository,
+            @Value("${token-refresh.request-offline-access:true}") boolean requestOfflineAccess) {
+        RedirectServerLogoutSuccessHandler logoutSuccessHandler = new RedirectServerLogoutSuccessHandler();
+        logoutSuccessHandler.setLogoutSuccessUrl(URI.create("http://localhost:5173"));
+
+        return http
+                // Enable CORS for React (localhost:5173)
+                .cors(Customizer.withDefaults())
+                // All requests need authentication
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/api/user-status").permitAll() // Status check without auth
+                        .anyExchange().authenticated())
+                // Enable OAuth2 Login
+                .oauth2Login(oauth2 -> oauth2
+                        .authorizationRequestResolver(
+                                authorizationRequestResolver(clientRegistrationRepository, requestOfflineAccess))
+                        .authenticationSuccessHandler(
+                                new RedirectServerAuthenticationSuccessHandler("http://localhost:5173/dashboard")))
+                // Logout → WebSession invalidate + React home
+                .logout(logout -> logout.logoutSuccessHandler(logoutSuccessHandler))
+                .build();
+    }
+
+    // Google refresh token ivvali ante access_type=offline kavali - authorized client manager refresh deeni meeda
+    private ServerOAuth2AuthorizationRequestResolver authorizationRequestResolver(
+            ReactiveClientRegistrationRepository clientRegistrationRepository, boolean requestOfflineAccess) {
+        DefaultServerOAuth2AuthorizationRequestResolver resolver = new DefaultServerOAuth2AuthorizationRequestResolver(
+                clientRegistrationRepository);
+        if (requestOfflineAccess) {
+            resolver.setAuthorizationRequestCustomizer(customizer -> customizer
+                    .additionalParameters(params -> params.put("access_type", "offline")));
+        }
+        return resolver;
+    }
+
+    // @RegisteredOAuth2AuthorizedClient ee manager vaadutundi - access token expire aithe refresh token tho renew
+    @Bean
+    public ReactiveOAuth2AuthorizedClientManager authorizedClientManager(
+            ReactiveClientRegistrationRepository clientRegistrationRepository,
+            ServerOAuth2AuthorizedClientRepository authorizedClientRepository) {
+        DefaultReactiveOAuth2AuthorizedClientManager manager = new DefaultReactiveOAuth2AuthorizedClientManager(
+                clientRegistrationRepository, authorizedClientRepository);
+        manager.setAuthorizedClientProvider(ReactiveOAuth2AuthorizedClientProviderBuilder.builder()
+                .authorizationCode()
+                .refreshToken()
+                .build());
+        return manager;
+    }
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        // React runs on 5173
+        configuration.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:3000"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("*"));
+        // IMPORTANT: Allow credentials (cookies) to be sent
+        configuration.setAllowCredentials(true);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,107 @@
+package com.oauth.client_app.reactive.controller;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.annotation.RegisteredOAuth2AuthorizedClient;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ⚡ Same React contract as servlet ClientBackendController (/api/user-status, /api/user, /api/photos),
+ * kani /api/photos downstream call lo thread block avvadu - Mono return, Netty event loop free.
+ *
+ * ProxyResponseCache ikkada ledu - prathi /api/photos resource-server ki velthundi (load test lo fair comparison).
+ */
+@RestController
+public class ReactiveBackendController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveBackendController.class);
+
+    private final WebClient downstreamWebClient;
+    private final String resourceServerUri;
+
+    public ReactiveBackendController(WebClient downstreamWebClient,
+            @Value("${downstream.resource-server-uri:http://localhost:8081}") String resourceServerUri) {
+        this.downstreamWebClient = downstreamWebClient;
+        this.resourceServerUri = resourceServerUri;
+    }
+
+    // Check if user is logged in (React calls this on load)
+    @GetMapping("/api/user-status")
+    public Map<String, Object> getUserStatus(@AuthenticationPrincipal OidcUser user) {
+        Map<String, Object> response = new HashMap<>();
+        if (user != null) {
+            response.put("authenticated", true);
+            response.put("name", user.getFullName());
+            response.put("email", user.getEmail());
+            response.put("picture", user.getPicture());
+        } else {
+            response.put("authenticated", false);
+        }
+        return response;
+    }
+
+    // Get user details as JSON
+    @GetMapping("/api/user")
+    public Map<String, Object> getUser(@AuthenticationPrincipal OidcUser user) {
+        Map<String, Object> response = new HashMap<>();
+        if (user != null) {
+            response.put("name", user.getFullName());
+            response.put("email", user.getEmail());
+            response.put("picture", user.getPicture());
+            response.put("subject", user.getSubject());
+        }
+        return response;
+    }
+
+    // 🚀 Resource Server (8081) ki ID Token (JWT) tho - servlet version laane, non-blocking ga
+    // authorizedClient: manager WebSession nundi load chesi, expire aithe refresh chesi istundi
+    @GetMapping("/api/photos")
+    public Mono<String> getPhotosFromResourceServer(
+            @AuthenticationPrincipal OidcUser oidcUser,
+            @RegisteredOAuth2AuthorizedClient("google") OAuth2AuthorizedClient client) {
+        if (oidcUser == null || oidcUser.getIdToken() == null) {
+            return Mono.just("{\"error\": \"No ID Token found. Please login again.\"}");
+        }
+
+        return downstreamWebClient.get()
+                .uri(resourceServerUri + "/photos")
+                .headers(headers -> headers.setBearerAuth(oidcUser.getIdToken().getTokenValue()))
+                .retrieve()
+                .bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .onErrorMap(ex -> !(ex instanceof ResponseStatusException), ex -> {
+                    log.warn("❌ ERROR calling Resource Server: {}", ex.getMessage());
+                    return downstreamFailure(ex);
+                });
+    }
+
+    // Servlet /api/rs/photos relay laane real status - 200 + error HTML aithe load test lo failures kanipinchavu.
+    // Pool acquire / response timeout → 504, pending-acquire queue full → 503 (servlet "pool exhausted" laane),
+    // downstream error status / connection fail → 502
+    private static ResponseStatusException downstreamFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            // reactor-netty shaded pool class - public API kaadu, name tho match
+            if (cause.getClass().getSimpleName().equals("PoolAcquirePendingLimitException")) {
+                return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Downstream pool exhausted", ex);
+            }
+            if (cause instanceof TimeoutException || cause instanceof ReadTimeoutException) {
+                return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Downstream timed out", ex);
+            }
+        }
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Downstream unavailable", ex);
+    }
+}
@@ -0,0 +1,13 @@
+package com.oauth.client_app.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ReactiveClientAppApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.oauth.client_app.reactive;
+
+import com.oauth.client_app.mockoidc.LoginFlowDriver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * 🏋️ OFFLINE LOGIN FLOW LOAD TEST - reactive build
+ *
+ * Mawa! Servlet LoginFlowLoadTest ki jodi - same MockOidcProvider, same photos stub, same virtual user cycle
+ * ({@link LoginFlowDriver}, servlet test tree nundi compile), kani Netty + WebSession ("SESSION" cookie) +
+ * reactive token exchange / ID token validation. Rendu numbers pakkapakkana pettochu.
+ *
+ * 1. login → /oauth2/authorization/google → provider /authorize → /login/oauth2/code/google (WebSession create)
+ * 2. photos → /api/photos (cache ledu - prathi cycle stub daaka)
+ * 3. logout → GET /logout (CSRF token page) → POST /logout
+ *
+ * Default build lo run avvadu: mvn -P login-loadtest test (leda -Dtest=ReactiveLoginFlowLoadTest -Dloadtest.login=true).
+ */
+@EnabledIfSystemProperty(named = "loadtest.login", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Driver HttpClient keep-alive connections open - graceful shutdown 30s wait chestundi
+        "server.shutdown=immediate",
+        // DEBUG controller / security logs throughput kolustayi, login kaadu
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.com.oauth.client_app.reactive=INFO" })
+class ReactiveLoginFlowLoadTest {
+
+    private static LoginFlowDriver driver;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void providerProperties(DynamicPropertyRegistry registry) {
+        driver = LoginFlowDriver.start(registry);
+    }
+
+    @AfterAll
+    static void stop() {
+        if (driver != null) {
+            driver.close();
+        }
+    }
+
+    @Test
+    void loginPhotosLogoutCycles() throws InterruptedException {
+        driver.run("reactive", "http://localhost:" + port, "SESSION");
+    }
+}
@@ -0,0 +1,78 @@
+package com.oauth.client_app.config;
+
+import com.oauth.client_app.login.ClaimsFirstOidcUserService;
+import com.oauth.client_app.login.IdTokenDecoders;
+import com.oauth.client_app.metrics.FlowMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ⏱️ LOGIN / PROXY PHASE TIMERS WIRING
+ *
+ * Mawa! Login callback lo Spring Security moodu panulu chestundi - manam prathi daanini wrap chesi time chestam:
+ *
+ * 1. code_exchange → TokenResponseLoggerConfig (Google token endpoint call)
+ * 2. id_token_validation → ikkada IdTokenDecoders wrap (prewarmed JWKS + signature + claims check)
+ * 3. user_info → ikkada ClaimsFirstOidcUserService wrap (ID token claims chalithe userinfo call ledu)
+ *
+ * Login ayyaka: controller (HandlerInterceptor), resource_server (ProxyResponseCache / TokenRelay),
+ * token_refresh (TokenRefreshScheduler). Beans OAuth2LoginConfigurer automatic ga pick chestundi.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private static final String CONTROLLER_START = MetricsConfig.class.getName() + ".CONTROLLER_START";
+
+    private final FlowMetrics metrics;
+
+    public MetricsConfig(FlowMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Bean
+    public JwtDecoderFactory<ClientRegistration> idTokenDecoderFactory(IdTokenDecoders delegate) {
+        return registration -> {
+            // Delegate registration ki okka decoder cache chestundi - wrap matrame kotha
+            JwtDecoder decoder = delegate.createDecoder(registration);
+            return token -> metrics.time(FlowMetrics.Phase.ID_TOKEN_VALIDATION, () -> decoder.decode(token));
+        };
+    }
+
+    @Bean
+    public OAuth2UserService<OidcUserRequest, OidcUser> oidcUserService(ClaimsFirstOidcUserService delegate) {
+        return request -> metrics.time(FlowMetrics.Phase.USER_INFO, () -> delegate.loadUser(request));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                request.setAttribute(CONTROLLER_START, System.nanoTime());
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                    Exception ex) {
+                if (request.getAttribute(CONTROLLER_START) instanceof Long start) {
+                    FlowMetrics.Outcome outcome = ex != null ? FlowMetrics.Outcome.ERROR
+                            : FlowMetrics.Outcome.ofStatus(response.getStatus());
+                    metrics.recordPhase(FlowMetrics.Phase.CONTROLLER, outcome, System.nanoTime() - start);
+                }
+            }
+        });
+    }
+}
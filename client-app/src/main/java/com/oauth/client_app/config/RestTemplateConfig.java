@@ -1,14 +1,85 @@
 package com.oauth.client_app.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * 🔌 POOLED DOWNSTREAM HTTP CLIENT
+ *
+ * Mawa! Dashboard latency lo main hop = client-app → resource-server.
+ * Prathi call ki new RestTemplate() ante prathi sari kotha TCP connection + timeouts ledu.
+ *
+ * Ikkada okka shared Apache HttpClient pool:
+ * - Keep-alive connections reuse avtayi (handshake okkasari matrame)
+ * - Connect / read / pool-acquire timeouts - slow downstream thread ni hang cheyadu
+ * - Per-route max - okka service antha pool ni tinakudadu
+ * - Pool stats (leased / pending / idle) → /internal/stats
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager downstreamConnectionManager(
+            @Value("${downstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${downstream.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${downstream.http.max-connections:100}") int maxConnections,
+            @Value("${downstream.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${downstream.http.connection-ttl:5m}") Duration connectionTtl) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        // Idle ga unna connection reuse cheyyakamundu stale check
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public RequestConfig downstreamRequestConfig(
+            @Value("${downstream.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${downstream.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout) {
+        return RequestConfig.custom()
+                // Pool full aithe inthakante ekkuva wait cheyyam - fail fast
+                .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient downstreamHttpClient(PoolingHttpClientConnectionManager downstreamConnectionManager,
+            RequestConfig downstreamRequestConfig,
+            @Value("${downstream.http.idle-eviction:30s}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(downstreamConnectionManager)
+                .setDefaultRequestConfig(downstreamRequestConfig)
+                // Bytes as-is pass through - ETag / Range / Content-Length downstream vi ne undali
+                .disableContentCompression()
+                // Shared client - downstream Set-Cookie store chesthe next user request lo Cookie ga vellipotundi
+                .disableCookieManagement()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient downstreamHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(downstreamHttpClient));
     }
 }
@@ -1,34 +1,89 @@
 package com.oauth.client_app.config;
 
+import com.oauth.client_app.events.SessionEventHub;
+import com.oauth.client_app.session.EncryptedCookieAuthorizationRequestRepository;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizationRequestResolver;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizationRequestRedirectFilter;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizationRequestResolver;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
 @Configuration
 public class SecurityConfig {
 
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ClientRegistrationRepository clientRegistrationRepository,
+            EncryptedCookieAuthorizationRequestRepository authorizationRequestRepository,
+            SessionEventHub sessionEvents,
+            @Value("${token-refresh.request-offline-access:true}") boolean requestOfflineAccess,
+            @Value("${session-admin.token:}") String sessionAdminToken) throws Exception {
         http
                 // Enable CORS for React (localhost:5173)
                 .cors(Customizer.withDefaults())
                 // All requests need authentication
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/user-status").permitAll() // Status check without auth
+                        // Status check without auth - dashboard logout ayithe status matrame istundi (React load call)
+                        .requestMatchers("/api/user-status", "/api/dashboard").permitAll()
+                        // Prometheus scraper ki login ledu - latency numbers matrame, user data ledu
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))
+                        .permitAll()
+                        // Session revoke admin - login kaadu, X-Admin-Token shared secret tho matrame.
+                        // Source IP chaaladu: same host reverse proxy venaka prathi request loopback nunde
+                        .requestMatchers("/internal/sessions/**").access(adminToken(sessionAdminToken))
                         .anyRequest().authenticated())
+                // Admin DELETE cookie tho kaadu, header secret tho authorize - browser auto ga pampadu, CSRF avasaram ledu
+                .csrf(csrf -> csrf.ignoringRequestMatchers("/internal/sessions/**"))
+                // SSE stream / admin curl ki Google redirect kaadu 401 - EventSource reconnect loop lo padadu
+                .exceptionHandling(exceptions -> exceptions
+                        .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                                PathPatternRequestMatcher.withDefaults().matcher("/api/events"))
+                        .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                                PathPatternRequestMatcher.withDefaults().matcher("/internal/sessions/**")))
+                // Login success eppudu dashboard ki (alwaysUse) - saved request vaadam, so daani kosam session create cheyyam
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
                 // Enable OAuth2 Login
                 .oauth2Login(oauth2 -> oauth2
+                        .authorizationEndpoint(authorization -> authorization
+                                // state / nonce / PKCE verifier encrypted cookie lo - login mundu session ledu
+                                .authorizationRequestRepository(authorizationRequestRepository)
+                                .authorizationRequestResolver(
+                                        authorizationRequestResolver(clientRegistrationRepository, requestOfflineAccess)))
                         .defaultSuccessUrl("http://localhost:5173/dashboard", true))
                 // Enable logout
                 .logout(logout -> logout
+                        // Session invalidate mundu - aa session open SSE tabs ki logout event
+                        .addLogoutHandler((request, response, authentication) -> {
+                            HttpSession session = request.getSession(false);
+                            if (session != null) {
+                                sessionEvents.loggedOut(session.getId(), "logout");
+                            }
+                        })
                         .logoutSuccessUrl("http://localhost:5173")
                         .invalidateHttpSession(true)
                         .deleteCookies("JSESSIONID"));
@@ -36,6 +91,28 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Token set cheyyakapothe admin endpoints close - constant time compare, length leak matrame
+    private static AuthorizationManager<RequestAuthorizationContext> adminToken(String token) {
+        byte[] expected = token.getBytes(StandardCharsets.UTF_8);
+        return (authentication, context) -> {
+            String presented = context.getRequest().getHeader(ADMIN_TOKEN_HEADER);
+            return new AuthorizationDecision(expected.length > 0 && presented != null
+                    && MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8)));
+        };
+    }
+
+    // Google refresh token ivvali ante access_type=offline kavali - TokenRefreshScheduler deeni meeda depend
+    private OAuth2AuthorizationRequestResolver authorizationRequestResolver(
+            ClientRegistrationRepository clientRegistrationRepository, boolean requestOfflineAccess) {
+        DefaultOAuth2AuthorizationRequestResolver resolver = new DefaultOAuth2AuthorizationRequestResolver(
+                clientRegistrationRepository, OAuth2AuthorizationRequestRedirectFilter.DEFAULT_AUTHORIZATION_REQUEST_BASE_URI);
+        if (requestOfflineAccess) {
+            resolver.setAuthorizationRequestCustomizer(customizer -> customizer
+                    .additionalParameters(params -> params.put("access_type", "offline")));
+        }
+        return resolver;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,102 @@
+package com.oauth.client_app.config;
+
+import com.oauth.client_app.session.CompactSessionCodec;
+import com.oauth.client_app.session.JavaSerializationCodec;
+import com.oauth.client_app.session.MappedFileSessionRepository;
+import com.oauth.client_app.session.SessionAttributeCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.web.HttpSessionOAuth2AuthorizedClientRepository;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 💾 EXTERNALIZED SESSIONS
+ *
+ * Mawa! Spring Session SessionRepositoryFilter Tomcat HttpSession ni replace chestundi -
+ * session data ee repository lo, JVM heap lo kaadu. So:
+ * - Restart ayina login alane untundi
+ * - Same host lo rendu client-app nodes same file share chesthe - ye node ki request vellina same session
+ *
+ * Authorized clients (Google access / refresh tokens) kuda session lo pedutam - lekapote
+ * default in-memory service lo undi, vere node ki / restart tarvata kanipinchavu.
+ *
+ * session-store.type=memory → plain in-memory map (single node, dev kosam).
+ * session-store.codec=compact (default) → OIDC login / tokens compact binary; java → plain Java serialization.
+ * Store file lo raw tokens - default ga user home lo private directory (shared /tmp kaadu), MappedSessionLog 0700 / 0600.
+ */
+@Configuration
+@EnableSpringHttpSession
+public class SessionConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "session-store.codec", havingValue = "compact", matchIfMissing = true)
+    public CompactSessionCodec compactSessionCodec(ClientRegistrationRepository clientRegistrationRepository,
+            @Value("${session-store.deserialization-allow:}") List<String> extraAllowedClasses) {
+        return new CompactSessionCodec(clientRegistrationRepository, getClass().getClassLoader(), extraAllowedClasses);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "session-store.codec", havingValue = "java")
+    public JavaSerializationCodec javaSerializationCodec(
+            @Value("${session-store.deserialization-allow:}") List<String> extraAllowedClasses) {
+        return new JavaSerializationCodec(getClass().getClassLoader(), extraAllowedClasses);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "session-store.type", havingValue = "mapped-file", matchIfMissing = true)
+    public MappedFileSessionRepository mappedFileSessionRepository(SessionAttributeCodec sessionAttributeCodec,
+            @Value("${session-store.file:${user.home}/.client-app/sessions.log}") Path file,
+            @Value("${session-store.initial-file-size:4MB}") DataSize initialFileSize,
+            @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+            @Value("${session-store.touch-interval:60s}") Duration touchInterval,
+            @Value("${session-store.sweep-interval:1m}") Duration sweepInterval,
+            @Value("${session-store.compact-dead-ratio:0.5}") double compactDeadRatio) throws IOException {
+        return new MappedFileSessionRepository(file, initialFileSize.toBytes(), sessionAttributeCodec, timeout,
+                touchInterval, sweepInterval, compactDeadRatio);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "session-store.type", havingValue = "memory")
+    public MapSessionRepository memorySessionRepository(
+            @Value("${server.servlet.session.timeout:30m}") Duration timeout) {
+        MapSessionRepository repository = new MapSessionRepository(new ConcurrentHashMap<>());
+        repository.setDefaultMaxInactiveInterval(timeout);
+        return repository;
+    }
+
+    // Tokens session tho paate store lo - TokenRefreshScheduler kuda ikkade nundi chadivi raastundi
+    @Bean
+    public OAuth2AuthorizedClientRepository authorizedClientRepository() {
+        return new HttpSessionOAuth2AuthorizedClientRepository();
+    }
+
+    // @RegisteredOAuth2AuthorizedClient resolve chese manager - authorization_code matrame, refresh_token provider ledu.
+    // Boot default manager expired token chuste request thread lone Google ki refresh chestundi; refresh
+    // TokenRefreshScheduler pani matrame - scheduler late aithe request patha token tho velthundi, wait cheyadu
+    @Bean
+    public OAuth2AuthorizedClientManager authorizedClientManager(
+            ClientRegistrationRepository clientRegistrationRepository,
+            OAuth2AuthorizedClientRepository authorizedClientRepository) {
+        DefaultOAuth2AuthorizedClientManager manager = new DefaultOAuth2AuthorizedClientManager(
+                clientRegistrationRepository, authorizedClientRepository);
+        manager.setAuthorizedClientProvider(OAuth2AuthorizedClientProviderBuilder.builder()
+                .authorizationCode()
+                .build());
+        return manager;
+    }
+}
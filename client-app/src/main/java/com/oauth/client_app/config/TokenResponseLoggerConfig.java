@@ -1,5 +1,7 @@
 package com.oauth.client_app.config;
 
+import com.oauth.client_app.metrics.FlowMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.client.endpoint.DefaultAuthorizationCodeTokenResponseClient;
@@ -20,12 +22,17 @@ import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenRespon
 public class TokenResponseLoggerConfig {
 
     @Bean
-    public OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> accessTokenResponseClient() {
+    public OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> accessTokenResponseClient(
+            FlowMetrics metrics, @Value("${flow-log.enabled:true}") boolean teachingOutput) {
 
         // Default client ni wrap chestunam - daani response ni log chestam
         DefaultAuthorizationCodeTokenResponseClient defaultClient = new DefaultAuthorizationCodeTokenResponseClient();
 
         return request -> {
+            // flow-log.enabled=false (load test) → console box ledu, exchange + timer matrame
+            if (!teachingOutput) {
+                return metrics.time(FlowMetrics.Phase.CODE_EXCHANGE, () -> defaultClient.getTokenResponse(request));
+            }
 
             System.out.println("\n");
             System.out.println("╔══════════════════════════════════════════════════════════════════════════════╗");
@@ -54,7 +61,9 @@ public class TokenResponseLoggerConfig {
             // 2. Make the actual call to Google
             System.out.println("\n⏳ Calling Google Token Endpoint...");
 
-            OAuth2AccessTokenResponse tokenResponse = defaultClient.getTokenResponse(request);
+            // ⏱️ Google round trip matrame time - console printing code_exchange phase lo count avvadu
+            OAuth2AccessTokenResponse tokenResponse = metrics.time(FlowMetrics.Phase.CODE_EXCHANGE,
+                    () -> defaultClient.getTokenResponse(request));
 
             // 3. Log the RESPONSE from Google
             System.out.println("\n📥 STEP 2: RESPONSE FROM GOOGLE (Token Exchange Successful!)");
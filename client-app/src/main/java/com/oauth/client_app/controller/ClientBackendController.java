@@ -1,5 +1,8 @@
 package com.oauth.client_app.controller;
 
+import com.oauth.client_app.dashboard.DashboardAggregator;
+import com.oauth.client_app.relay.ProxyResponseCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.annotation.RegisteredOAuth2AuthorizedClient;
@@ -7,19 +10,78 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 public class ClientBackendController {
 
+    // Shared pooled client (RestTemplateConfig) + per-user response cache - prathi refresh ki downstream call kaadu
+    private final ProxyResponseCache proxyResponseCache;
+    private final String resourceServerUri;
+    private final DashboardAggregator dashboardAggregator;
+    private final Duration dashboardUserTimeout;
+    private final Duration dashboardPhotosTimeout;
+
+    public ClientBackendController(ProxyResponseCache proxyResponseCache,
+            @Value("${downstream.resource-server-uri:http://localhost:8081}") String resourceServerUri,
+            DashboardAggregator dashboardAggregator,
+            @Value("${dashboard.user-timeout:500ms}") Duration dashboardUserTimeout,
+            @Value("${dashboard.photos-timeout:3s}") Duration dashboardPhotosTimeout) {
+        this.proxyResponseCache = proxyResponseCache;
+        this.resourceServerUri = resourceServerUri;
+        this.dashboardAggregator = dashboardAggregator;
+        this.dashboardUserTimeout = dashboardUserTimeout;
+        this.dashboardPhotosTimeout = dashboardPhotosTimeout;
+    }
+
     // ========== API ENDPOINTS FOR REACT ==========
 
     // Check if user is logged in (React calls this on load)
     @GetMapping("/api/user-status")
     public Map<String, Object> getUserStatus(@AuthenticationPrincipal OidcUser user) {
+        return userStatus(user);
+    }
+
+    // Get user details as JSON
+    @GetMapping("/api/user")
+    public Map<String, Object> getUser(@AuthenticationPrincipal OidcUser user) {
+        return userDetails(user);
+    }
+
+    // 🧩 Dashboard okka call lo: status + user + photos parallel ga (DashboardAggregator)
+    // Session / principal ikkada request thread lo okkasari - parts ki values matrame vellutayi
+    @GetMapping("/api/dashboard")
+    public Map<String, Object> getDashboard(@AuthenticationPrincipal OidcUser user) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", userStatus(user));
+        if (user == null || user.getIdToken() == null) {
+            return response;
+        }
+        String subject = user.getSubject();
+        String idToken = user.getIdToken().getTokenValue();
+        Instant idTokenExpiresAt = user.getIdToken().getExpiresAt();
+
+        response.putAll(dashboardAggregator.aggregate(List.of(
+                new DashboardAggregator.Part("user", dashboardUserTimeout, () -> userDetails(user)),
+                new DashboardAggregator.Part("photos", dashboardPhotosTimeout, () -> {
+                    ProxyResponseCache.CachedResponse photos = proxyResponseCache.get(subject, "/photos",
+                            resourceServerUri + "/photos", idToken, idTokenExpiresAt);
+                    Map<String, Object> part = new LinkedHashMap<>();
+                    part.put("status", photos.status());
+                    part.put("contentType", photos.contentType() != null ? photos.contentType().toString() : null);
+                    part.put("body", photos.body());
+                    return part;
+                }))));
+        return response;
+    }
+
+    private static Map<String, Object> userStatus(OidcUser user) {
         Map<String, Object> response = new HashMap<>();
         if (user != null) {
             response.put("authenticated", true);
@@ -32,9 +94,7 @@ public class ClientBackendController {
         return response;
     }
 
-    // Get user details as JSON
-    @GetMapping("/api/user")
-    public Map<String, Object> getUser(@AuthenticationPrincipal OidcUser user) {
+    private static Map<String, Object> userDetails(OidcUser user) {
         Map<String, Object> response = new HashMap<>();
         if (user != null) {
             response.put("name", user.getFullName());
@@ -238,26 +298,21 @@ public class ClientBackendController {
         System.out.println("\n🚀 CALLING RESOURCE SERVER with ID Token (JWT)...");
         System.out.println("Token (first 50 chars): " + idToken.substring(0, Math.min(50, idToken.length())) + "...");
 
-        // 2. Call Resource Server with Bearer Token
+        // 2. Call Resource Server with Bearer Token (per-user cache - fresh aithe call ledu, stale aithe 304 revalidate)
         try {
-            RestTemplate restTemplate = new RestTemplate();
-
-            // Create headers with Authorization
-            org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-            headers.setBearerAuth(idToken);
-
-            org.springframework.http.HttpEntity<String> entity = new org.springframework.http.HttpEntity<>(headers);
-
-            // Call Resource Server
-            org.springframework.http.ResponseEntity<String> response = restTemplate.exchange(
-                    "http://localhost:8081/photos",
-                    org.springframework.http.HttpMethod.GET,
-                    entity,
-                    String.class);
-
-            System.out.println("✅ RESOURCE SERVER RESPONSE: " + response.getStatusCode());
-            return response.getBody();
+            ProxyResponseCache.CachedResponse response = proxyResponseCache.get(
+                    oidcUser.getSubject(),
+                    "/photos",
+                    resourceServerUri + "/photos",
+                    idToken,
+                    oidcUser.getIdToken().getExpiresAt());
+
+            System.out.println("✅ RESOURCE SERVER RESPONSE: " + response.status());
+            return response.body();
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             System.out.println("❌ ERROR calling Resource Server: " + e.getMessage());
             e.printStackTrace();
             return "<h1 style='color: red;'>❌ Error calling Resource Server</h1>" +
@@ -0,0 +1,93 @@
+package com.oauth.client_app.controller;
+
+import com.oauth.client_app.relay.ProxyResponseCache;
+import com.oauth.client_app.relay.TokenRelay;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.URI;
+
+// Generic relay: /api/rs/photos/123/content → {resource-server}/photos/123/content (Bearer token attach chesi)
+// Kotha downstream endpoint ki kotha controller method raayalsina pani ledu
+@RestController
+public class RelayController {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayController.class);
+
+    private final TokenRelay tokenRelay;
+    private final ProxyResponseCache proxyResponseCache;
+    private final OAuth2AuthorizedClientRepository authorizedClientRepository;
+    private final String pathPrefix;
+    private final String targetUri;
+    private final boolean useIdToken;
+
+    public RelayController(TokenRelay tokenRelay, ProxyResponseCache proxyResponseCache,
+            OAuth2AuthorizedClientRepository authorizedClientRepository,
+            @Value("${relay.path-prefix:/api/rs}") String pathPrefix,
+            @Value("${relay.target-uri:${downstream.resource-server-uri:http://localhost:8081}}") String targetUri,
+            @Value("${relay.token:id-token}") String token) {
+        this.tokenRelay = tokenRelay;
+        this.proxyResponseCache = proxyResponseCache;
+        this.authorizedClientRepository = authorizedClientRepository;
+        this.pathPrefix = pathPrefix;
+        this.targetUri = targetUri.endsWith("/") ? targetUri.substring(0, targetUri.length() - 1) : targetUri;
+        // Resource server Google ID token (JWT) ni validate chestundi - access token opaque
+        this.useIdToken = !"access-token".equals(token);
+    }
+
+    @RequestMapping("${relay.path-prefix:/api/rs}/**")
+    public void relay(HttpServletRequest request, HttpServletResponse response,
+            @AuthenticationPrincipal OidcUser oidcUser, Authentication authentication) throws IOException {
+        String token = useIdToken ? idToken(oidcUser) : accessToken(authentication, request);
+        if (token == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No token in session. Please login again.");
+        }
+
+        // Raw (still-encoded) path + query as-is forward - decode/re-encode cheste path maripotundi
+        String path = request.getRequestURI().substring(request.getContextPath().length() + pathPrefix.length());
+        String query = request.getQueryString();
+        URI target = URI.create(targetUri + (path.isEmpty() ? "/" : path) + (query != null ? "?" + query : ""));
+
+        try {
+            tokenRelay.relay(request, response, target, token);
+            if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod()) && oidcUser != null) {
+                // Upload/delete relay ayyindi - aa user cached responses (/api/photos) ippudu stale
+                proxyResponseCache.invalidate(oidcUser.getSubject());
+            }
+        } catch (ConnectionRequestTimeoutException poolExhausted) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Downstream pool exhausted", poolExhausted);
+        } catch (IOException ex) {
+            if (response.isCommitted()) {
+                throw ex; // body already streaming - browser ki half response, connection close
+            }
+            log.warn("⚠️ Relay to {} failed: {}", target, ex.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Downstream unavailable", ex);
+        }
+    }
+
+    private static String idToken(OidcUser oidcUser) {
+        return oidcUser != null && oidcUser.getIdToken() != null ? oidcUser.getIdToken().getTokenValue() : null;
+    }
+
+    // access-token mode lo matrame authorized client - session nundi direct, refresh TokenRefreshScheduler pani
+    private String accessToken(Authentication authentication, HttpServletRequest request) {
+        OAuth2AuthorizedClient client = authentication != null
+                ? authorizedClientRepository.loadAuthorizedClient("google", authentication, request)
+                : null;
+        return client != null ? client.getAccessToken().getTokenValue() : null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.oauth.client_app.controller;
+
+import com.oauth.client_app.events.SessionEventHub;
+import com.oauth.client_app.relay.ProxyResponseCache;
+import com.oauth.client_app.session.MappedFileSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// 🚨 Account compromise aithe: aa user (OIDC sub) sessions anni okkasari kill - X-Admin-Token header tho matrame (SecurityConfig)
+@RestController
+public class SessionAdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionAdminController.class);
+
+    // session-store.type=memory aithe principal index ledu
+    private final ObjectProvider<MappedFileSessionRepository> sessionRepository;
+    private final ProxyResponseCache proxyResponseCache;
+    private final SessionEventHub sessionEvents;
+
+    public SessionAdminController(ObjectProvider<MappedFileSessionRepository> sessionRepository,
+            ProxyResponseCache proxyResponseCache, SessionEventHub sessionEvents) {
+        this.sessionRepository = sessionRepository;
+        this.proxyResponseCache = proxyResponseCache;
+        this.sessionEvents = sessionEvents;
+    }
+
+    // curl -H "X-Admin-Token: $SESSION_ADMIN_TOKEN" localhost:8080/internal/sessions/<sub>
+    @GetMapping("/internal/sessions/{subject}")
+    public ResponseEntity<Map<String, Object>> getSessions(@PathVariable String subject) {
+        MappedFileSessionRepository repository = sessionRepository.getIfAvailable();
+        if (repository == null) {
+            return notIndexed();
+        }
+        Set<String> ids = repository.findSessionIds(subject);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("subject", subject);
+        // Session id = login cookie - full ga bayataki ivvam
+        response.put("sessions", ids.stream().map(id -> id.substring(0, Math.min(8, id.length())) + "...").toList());
+        return ResponseEntity.ok(response);
+    }
+
+    // curl -X DELETE -H "X-Admin-Token: $SESSION_ADMIN_TOKEN" localhost:8080/internal/sessions/<sub>
+    @DeleteMapping("/internal/sessions/{subject}")
+    public ResponseEntity<Map<String, Object>> revokeSessions(@PathVariable String subject) {
+        MappedFileSessionRepository repository = sessionRepository.getIfAvailable();
+        if (repository == null) {
+            return notIndexed();
+        }
+        // Cost = aa user sessions matrame; prathi delete chinna critical section - migatha logins aagavu
+        Set<String> ids = repository.findSessionIds(subject);
+        ids.forEach(id -> {
+            repository.deleteById(id);
+            // Open tabs ki logout push - React ventane login page
+            sessionEvents.loggedOut(id, "revoked");
+        });
+        // Cached downstream responses kuda aa user vi - next login fresh ga
+        proxyResponseCache.invalidate(subject);
+        log.warn("🚨 Revoked {} sessions for subject {}", ids.size(), subject);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("subject", subject);
+        response.put("revoked", ids.size());
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> notIndexed() {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                .body(Map.of("error", "Session store has no principal index (session-store.type=memory)"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.oauth.client_app.controller;
+
+import com.oauth.client_app.events.SessionEventHub;
+import com.oauth.client_app.token.TokenRefreshScheduler;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 📡 React EventSource - /api/user-status polling badulu session state push (SessionEventHub)
+@RestController
+public class SessionEventsController {
+
+    private final SessionEventHub sessionEvents;
+    private final OAuth2AuthorizedClientRepository authorizedClientRepository;
+
+    public SessionEventsController(SessionEventHub sessionEvents,
+            OAuth2AuthorizedClientRepository authorizedClientRepository) {
+        this.sessionEvents = sessionEvents;
+        this.authorizedClientRepository = authorizedClientRepository;
+    }
+
+    // Login lekapote SecurityConfig 401 istundi - EventSource reconnect try cheyadu
+    @GetMapping(path = "/api/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(OAuth2AuthenticationToken authentication, HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        OAuth2AuthorizedClient client = authorizedClientRepository
+                .loadAuthorizedClient(authentication.getAuthorizedClientRegistrationId(), authentication, request);
+
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("authenticated", true);
+        if (authentication.getPrincipal() instanceof OidcUser oidcUser) {
+            user.put("name", oidcUser.getFullName());
+            user.put("email", oidcUser.getEmail());
+            user.put("picture", oidcUser.getPicture());
+        }
+        SseEmitter emitter = sessionEvents.subscribe(session.getId(), user,
+                TokenRefreshScheduler.tokenExpiry(client, authentication));
+        if (emitter == null) {
+            // Connection limit - EventSource error, React initial status tho continue
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+}
@@ -0,0 +1,97 @@
+package com.oauth.client_app.controller;
+
+import com.oauth.client_app.dashboard.DashboardAggregator;
+import com.oauth.client_app.events.SessionEventHub;
+import com.oauth.client_app.flowlog.FlowEventRecorder;
+import com.oauth.client_app.login.ClaimsFirstOidcUserService;
+import com.oauth.client_app.login.IdTokenDecoders;
+import com.oauth.client_app.relay.ProxyResponseCache;
+import com.oauth.client_app.session.CompactSessionCodec;
+import com.oauth.client_app.session.EncryptedCookieAuthorizationRequestRepository;
+import com.oauth.client_app.session.MappedFileSessionRepository;
+import com.oauth.client_app.token.TokenRefreshScheduler;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Internal counters - BFF downstream calls lo em jarugutundo choodataniki
+@RestController
+public class StatsController {
+
+    private final PoolingHttpClientConnectionManager downstreamConnectionManager;
+    private final ProxyResponseCache proxyResponseCache;
+    private final TokenRefreshScheduler tokenRefreshScheduler;
+    // session-store.type=memory aithe ee bean undadu
+    private final ObjectProvider<MappedFileSessionRepository> sessionRepository;
+    private final ObjectProvider<CompactSessionCodec> sessionCodec;
+    private final FlowEventRecorder flowEventRecorder;
+    private final DashboardAggregator dashboardAggregator;
+    private final EncryptedCookieAuthorizationRequestRepository authorizationRequestRepository;
+    private final ClaimsFirstOidcUserService oidcUserService;
+    private final IdTokenDecoders idTokenDecoders;
+    private final SessionEventHub sessionEvents;
+
+    public StatsController(PoolingHttpClientConnectionManager downstreamConnectionManager,
+            ProxyResponseCache proxyResponseCache, TokenRefreshScheduler tokenRefreshScheduler,
+            ObjectProvider<MappedFileSessionRepository> sessionRepository,
+            ObjectProvider<CompactSessionCodec> sessionCodec, FlowEventRecorder flowEventRecorder,
+            DashboardAggregator dashboardAggregator,
+            EncryptedCookieAuthorizationRequestRepository authorizationRequestRepository,
+            ClaimsFirstOidcUserService oidcUserService, IdTokenDecoders idTokenDecoders,
+            SessionEventHub sessionEvents) {
+        this.downstreamConnectionManager = downstreamConnectionManager;
+        this.proxyResponseCache = proxyResponseCache;
+        this.tokenRefreshScheduler = tokenRefreshScheduler;
+        this.sessionRepository = sessionRepository;
+        this.sessionCodec = sessionCodec;
+        this.flowEventRecorder = flowEventRecorder;
+        this.dashboardAggregator = dashboardAggregator;
+        this.authorizationRequestRepository = authorizationRequestRepository;
+        this.oidcUserService = oidcUserService;
+        this.idTokenDecoders = idTokenDecoders;
+        this.sessionEvents = sessionEvents;
+    }
+
+    @GetMapping("/internal/stats")
+    public Map<String, Object> getStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("httpPool", poolStats());
+        response.put("responseCache", proxyResponseCache.stats());
+        response.put("tokenRefresh", tokenRefreshScheduler.stats());
+        sessionRepository.ifAvailable(repository -> response.put("sessionStore", repository.stats()));
+        sessionCodec.ifAvailable(codec -> response.put("sessionCodec", codec.stats()));
+        response.put("flowLog", flowEventRecorder.stats());
+        response.put("dashboard", dashboardAggregator.stats());
+        response.put("loginCookie", authorizationRequestRepository.stats());
+        response.put("loginUser", oidcUserService.stats());
+        response.put("idTokenKeys", idTokenDecoders.stats());
+        response.put("sessionEvents", sessionEvents.stats());
+        return response;
+    }
+
+    // leased = in use, pending = pool kosam wait chestunnavi, available = idle keep-alive connections
+    private Map<String, Object> poolStats() {
+        Map<String, Object> pool = new LinkedHashMap<>(toMap(downstreamConnectionManager.getTotalStats()));
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (HttpRoute route : downstreamConnectionManager.getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), toMap(downstreamConnectionManager.getStats(route)));
+        }
+        pool.put("routes", routes);
+        return pool;
+    }
+
+    private static Map<String, Object> toMap(PoolStats stats) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("leased", stats.getLeased());
+        map.put("pending", stats.getPending());
+        map.put("idle", stats.getAvailable());
+        map.put("max", stats.getMax());
+        return map;
+    }
+}
@@ -0,0 +1,113 @@
+package com.oauth.client_app.dashboard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🧩 DASHBOARD FAN-OUT
+ *
+ * Mawa! React load lo /api/user-status + /api/user + /api/photos - moodu browser round trips,
+ * prathi okkati full filter chain + session lookup. /api/dashboard okkasari session resolve chesi
+ * parts anni parallel ga run chestundi:
+ *
+ * 1. Prathi part okka virtual thread lo (blocking RestTemplate call ayina carrier thread block avvadu)
+ * 2. Prathi part ki sonta timeout - anni same start nundi count, so motham latency = slowest part (timeout tho cap)
+ * 3. Timeout / error aithe aa part cancel, migatha parts result tho partial response - "errors" lo reason
+ *
+ * Parts ki SecurityContext / request pass avvavu - caller request thread lo values extract chesi ivvali.
+ */
+@Component
+public class DashboardAggregator implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregator.class);
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("dashboard-part-", 0).factory());
+
+    private final LongAdder aggregations = new LongAdder();
+    private final LongAdder partialResponses = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * One independent piece of the dashboard payload.
+     */
+    public record Part(String name, Duration timeout, Callable<?> task) {
+    }
+
+    /**
+     * Runs all parts concurrently and returns {@code name → result} for the parts that finished in time, plus
+     * {@code errors} (name → reason) and {@code partial} when any part timed out or failed.
+     */
+    public Map<String, Object> aggregate(List<Part> parts) {
+        aggregations.increment();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(parts.size());
+        for (Part part : parts) {
+            futures.add(executor.submit(part.task()));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < parts.size(); i++) {
+            Part part = parts.get(i);
+            Future<?> future = futures.get(i);
+            long remaining = part.timeout().toNanos() - (System.nanoTime() - start);
+            try {
+                result.put(part.name(), future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException ex) {
+                // Interrupt - socket read ayithe downstream read-timeout daaka thread bratukutundi, response kosam wait ledu
+                future.cancel(true);
+                timeouts.increment();
+                errors.put(part.name(), "timeout after " + part.timeout().toMillis() + " ms");
+            } catch (ExecutionException ex) {
+                failures.increment();
+                // Exception message lo internal URLs / hostnames untayi - browser ki fixed reason, details log lo matrame
+                log.warn("⚠️ Dashboard part '{}' failed", part.name(), ex.getCause());
+                errors.put(part.name(), "unavailable");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                errors.put(part.name(), "interrupted");
+                break;
+            }
+        }
+
+        result.put("partial", !errors.isEmpty());
+        if (!errors.isEmpty()) {
+            partialResponses.increment();
+            result.put("errors", errors);
+        }
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("aggregations", aggregations.sum());
+        stats.put("partialResponses", partialResponses.sum());
+        stats.put("partTimeouts", timeouts.sum());
+        stats.put("partFailures", failures.sum());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,302 @@
+package com.oauth.client_app.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📡 SESSION EVENT STREAM (SSE)
+ *
+ * Mawa! React "inka logged in aa?" ani /api/user-status adigite prathi sari full filter chain + session lookup.
+ * Ippudu prathi tab okka SSE connection open chestundi, server state maarinappudu matrame push:
+ *
+ * 1. login → connect avvagane current user + token expiry (status check badulu)
+ * 2. token-refreshed → TokenRefreshScheduler kotha tokens save chesinappudu kotha expiry
+ * 3. token-expiring → expiry - expiring-warning daatindi, refresh jaragaledu (refresh token ledu / fail)
+ * 4. logout → logout / admin revoke - stream close, React login page ki
+ *
+ * Idle connections almost free:
+ * - Servlet async - open connection ki request thread ledu, Tomcat NIO socket matrame
+ * - Okka "session-events" ticker thread anni connections ki - per-connection timers levu
+ * - Heartbeat (": hb" comment, proxies connection close cheyakunda) heartbeat-interval lo emi pampakapothe matrame;
+ *   real event pampithe adhe heartbeat - next one malli interval tarvata
+ * - Heartbeat bytes okkasari build, anni connections reuse
+ * - Writes anni (events kuda) per-connection outbox → virtual thread writer. Caller (refresh workers, logout request,
+ *   admin revoke) eppudu socket meeda block avvadu - stalled tab (full TCP window) tana writer ni matrame aaputundi.
+ *   Okka connection ki okka writer, FIFO - logout eppudu last. Outbox max-pending daatithe aa stream close
+ * - max-connection-age (jitter tho) tarvata close → EventSource reconnect avtundi, session malli filter chain lo check
+ */
+@Component
+public class SessionEventHub implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionEventHub.class);
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("hb").build();
+    // Outbox marker: mundu events anni vellaka stream complete
+    private static final Set<DataWithMediaType> CLOSE = SseEmitter.event().comment("close").build();
+    // Stalled tab ki events inthakante ekkuva pile aithe - aa connection vadilestam (EventSource reconnect chestundi)
+    private static final int MAX_PENDING = 16;
+
+    private final Duration heartbeatInterval;
+    private final Duration expiringWarning;
+    private final Duration maxConnectionAge;
+    private final Duration reconnectDelay;
+    private final int maxConnections;
+
+    // Session id → aa session tabs (okka session ki chala tabs)
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "session-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("session-events-write-", 0).factory());
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder heartbeats = new LongAdder();
+    private final LongAdder disconnects = new LongAdder();
+
+    public SessionEventHub(@Value("${session-events.heartbeat-interval:25s}") Duration heartbeatInterval,
+            @Value("${session-events.tick:5s}") Duration tick,
+            @Value("${session-events.expiring-warning:2m}") Duration expiringWarning,
+            @Value("${session-events.max-connection-age:30m}") Duration maxConnectionAge,
+            @Value("${session-events.reconnect-delay:5s}") Duration reconnectDelay,
+            @Value("${session-events.max-connections:50000}") int maxConnections) {
+        this.heartbeatInterval = heartbeatInterval;
+        this.expiringWarning = expiringWarning;
+        this.maxConnectionAge = maxConnectionAge;
+        this.reconnectDelay = reconnectDelay;
+        this.maxConnections = maxConnections;
+        ticker.scheduleWithFixedDelay(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream for this session and sends the {@code login} event, or returns {@code null} when the
+     * connection limit is reached.
+     */
+    public SseEmitter subscribe(String sessionId, Map<String, Object> user, Instant tokenExpiresAt) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejected.increment();
+            return null;
+        }
+        // Anni tabs okesari reconnect avvakunda age ki +-10% jitter
+        long ageMillis = maxConnectionAge.toMillis();
+        long timeout = ageMillis - ageMillis / 10 + ThreadLocalRandom.current().nextLong(Math.max(1, ageMillis / 5));
+        Subscriber subscriber = new Subscriber(sessionId, new SseEmitter(timeout), tokenExpiresAt);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        subscribers.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        opened.increment();
+
+        Map<String, Object> data = new LinkedHashMap<>(user);
+        data.put("expiresAt", tokenExpiresAt);
+        long retryMillis = reconnectDelay.toMillis() + ThreadLocalRandom.current()
+                .nextLong(Math.max(1, reconnectDelay.toMillis()));
+        events.increment();
+        enqueue(subscriber, SseEmitter.event().name("login").reconnectTime(retryMillis)
+                .data(data, MediaType.APPLICATION_JSON).build());
+        return subscriber.emitter;
+    }
+
+    /**
+     * Queues the new expiry for every stream of this session; the expiring warning re-arms. Never blocks.
+     */
+    public void tokenRefreshed(String sessionId, Instant expiresAt) {
+        Set<Subscriber> tabs = subscribers.get(sessionId);
+        if (tabs == null) {
+            return;
+        }
+        Set<DataWithMediaType> event = event("token-refreshed", Map.of("expiresAt", expiresAt));
+        for (Subscriber subscriber : tabs) {
+            subscriber.expiresAt = expiresAt;
+            subscriber.expiringSent = false;
+            enqueue(subscriber, event);
+        }
+    }
+
+    /**
+     * Queues {@code logout} followed by close for every stream of this session. Never blocks.
+     */
+    public void loggedOut(String sessionId, String reason) {
+        Set<Subscriber> tabs = subscribers.remove(sessionId);
+        if (tabs == null) {
+            return;
+        }
+        Set<DataWithMediaType> event = event("logout", Map.of("reason", reason));
+        for (Subscriber subscriber : tabs) {
+            if (subscriber.removed.compareAndSet(false, true)) {
+                connections.decrementAndGet();
+            }
+            subscriber.outbox.add(event);
+            subscriber.outbox.add(CLOSE);
+            drain(subscriber);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connections", connections.get());
+        stats.put("sessions", subscribers.size());
+        stats.put("opened", opened.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("events", events.sum());
+        stats.put("heartbeats", heartbeats.sum());
+        stats.put("disconnects", disconnects.sum());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+        subscribers.values().forEach(tabs -> tabs.forEach(subscriber -> subscriber.emitter.complete()));
+        writers.shutdownNow();
+    }
+
+    // ========== Ticker ==========
+
+    // Okka pass anni connections meeda: expiry warning due aithe adi, leka interval lo emi vellakapothe heartbeat
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            long heartbeatNanos = heartbeatInterval.toNanos();
+            Instant warnAfter = Instant.now().plus(expiringWarning);
+            for (Set<Subscriber> tabs : subscribers.values()) {
+                for (Subscriber subscriber : tabs) {
+                    Instant expiresAt = subscriber.expiresAt;
+                    if (!subscriber.expiringSent && expiresAt != null && !warnAfter.isBefore(expiresAt)) {
+                        subscriber.expiringSent = true;
+                        enqueue(subscriber, event("token-expiring", Map.of("expiresAt", expiresAt)));
+                    } else if (now - subscriber.lastSentNanos >= heartbeatNanos && !subscriber.writing.get()
+                            && subscriber.outbox.isEmpty()) {
+                        // Write in flight unte heartbeat skip - stuck client ki heartbeats pile avvavu
+                        heartbeats.increment();
+                        enqueue(subscriber, HEARTBEAT);
+                    }
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("⚠️ Session event tick failed: {}", ex.getMessage());
+        }
+    }
+
+    // ========== Writes ==========
+
+    private Set<DataWithMediaType> event(String name, Map<String, Object> data) {
+        events.increment();
+        return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON).build();
+    }
+
+    // Caller thread lo queue matrame - write writer virtual thread lo
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (subscriber.outbox.size() >= MAX_PENDING) {
+            disconnects.increment();
+            remove(subscriber);
+            subscriber.outbox.clear();
+            subscriber.outbox.add(CLOSE);
+        } else {
+            subscriber.lastSentNanos = System.nanoTime();
+            subscriber.outbox.add(event);
+        }
+        drain(subscriber);
+    }
+
+    // Okka connection ki okka writer - outbox FIFO order lo, empty ayyedaka
+    private void drain(Subscriber subscriber) {
+        if (!subscriber.writing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writers.execute(() -> {
+                do {
+                    Set<DataWithMediaType> event;
+                    while ((event = subscriber.outbox.poll()) != null) {
+                        if (!write(subscriber, event)) {
+                            subscriber.outbox.clear();
+                        }
+                    }
+                    subscriber.writing.set(false);
+                    // Release ki, poll ki madhya evaraina queue chesi drain miss ayite - malli manam
+                } while (!subscriber.outbox.isEmpty() && subscriber.writing.compareAndSet(false, true));
+            });
+        } catch (RejectedExecutionException shuttingDown) {
+            subscriber.writing.set(false);
+        }
+    }
+
+    private boolean write(Subscriber subscriber, Set<DataWithMediaType> event) {
+        try {
+            if (event == CLOSE) {
+                subscriber.emitter.complete();
+            } else {
+                subscriber.emitter.send(event);
+            }
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // Tab close / network poyindi - container onError / onCompletion tho cleanup
+            disconnects.increment();
+            remove(subscriber);
+            return false;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.sessionId, (id, tabs) -> {
+            tabs.remove(subscriber);
+            return tabs.isEmpty() ? null : tabs;
+        });
+    }
+
+    private static final class Subscriber {
+
+        private final String sessionId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> outbox = new ConcurrentLinkedQueue<>();
+        // Writer task running - outbox drain chese owner
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile long lastSentNanos = System.nanoTime();
+        private volatile Instant expiresAt;
+        private volatile boolean expiringSent;
+
+        Subscriber(String sessionId, SseEmitter emitter, Instant expiresAt) {
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.oauth.client_app.flowlog;
+
+/**
+ * One request's worth of flow facts. Slots are preallocated in {@link FlowEventRecorder}'s ring and reused -
+ * request threads only copy references / primitives in here, formatting happens on the writer thread.
+ */
+final class FlowEvent {
+
+    // Publish marker: ring sequence ee slot lo ready ga unnappudu (-1 = empty)
+    volatile long sequence = -1;
+
+    long requestNumber;
+    long timestampMillis;
+    long durationNanos;
+    String method;
+    String uri;
+    String query;
+    String requestedSessionId;
+    boolean authenticatedBefore;
+    String principalBefore;
+    int status;
+    String location;
+    boolean authenticatedAfter;
+
+    void clear() {
+        method = null;
+        uri = null;
+        query = null;
+        requestedSessionId = null;
+        principalBefore = null;
+        location = null;
+    }
+}
@@ -0,0 +1,204 @@
+package com.oauth.client_app.flowlog;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🎓 Teaching text for one {@link FlowEvent} - patha OAuth2FlowLogger output, same steps, same order.
+ * Writer thread matrame call chestundi.
+ */
+final class FlowEventFormatter {
+
+    private static final String BORDER = "\n" + "═".repeat(80);
+    private static final String LINE = "─".repeat(80);
+
+    private FlowEventFormatter() {
+    }
+
+    static boolean isAuthFlow(String uri) {
+        FlowStep step = FlowStep.of(uri);
+        return step == FlowStep.AUTHORIZATION_REDIRECT || step == FlowStep.LOGIN_CALLBACK || step == FlowStep.LOGOUT;
+    }
+
+    static void format(FlowEvent event, StringBuilder out) {
+        String uri = event.uri;
+
+        line(out, BORDER);
+        line(out, "🚀 REQUEST #" + event.requestNumber + " - " + event.method + " " + uri
+                + "  (" + Instant.ofEpochMilli(event.timestampMillis) + ")");
+        line(out, BORDER);
+
+        // ═══════════════════════════════════════════════════════════════════
+        // STEP 1: REQUEST DETAILS
+        // ═══════════════════════════════════════════════════════════════════
+        line(out, "\n📥 STEP 1: REQUEST VACHINDI (Incoming Request)");
+        line(out, LINE);
+        line(out, "   🌐 URI: " + uri);
+        line(out, "   📝 Method: " + event.method);
+        if (event.query != null) {
+            line(out, "   📎 Query Params: " + event.query);
+
+            // Check for OAuth callback params
+            if (event.query.contains("code=")) {
+                line(out, "\n   🎫 AUTHORIZATION CODE FOUND!");
+                line(out, "   💡 Idi Google ichina 'Temporary Pass' - idi tokens ki exchange avtundi");
+            }
+            if (event.query.contains("state=")) {
+                line(out, "   🔐 STATE PARAMETER FOUND!");
+                line(out, "   💡 Idi CSRF protection kosam - manam pampina state match avtundo check chestaru");
+            }
+        }
+
+        // ═══════════════════════════════════════════════════════════════════
+        // STEP 2: SESSION DETAILS
+        // ═══════════════════════════════════════════════════════════════════
+        line(out, "\n📦 STEP 2: SESSION CHECK (Server-side storage)");
+        line(out, LINE);
+        if (event.requestedSessionId != null) {
+            // Cookie nundi id matrame - session store lookup cheyyam
+            String id = event.requestedSessionId;
+            line(out, "   ✅ Session cookie vachindi");
+            line(out, "   🆔 Session ID: " + id.substring(0, Math.min(8, id.length())) + "...");
+        } else {
+            line(out, "   ❌ No Session Yet - First time visitor or logged out");
+            line(out, "   💡 Login tarvata session create avtundi");
+        }
+
+        // ═══════════════════════════════════════════════════════════════════
+        // STEP 3: AUTHENTICATION STATUS
+        // ═══════════════════════════════════════════════════════════════════
+        line(out, "\n🔑 STEP 3: AUTHENTICATION STATUS (Logged in aa kaadaa?)");
+        line(out, LINE);
+        if (event.authenticatedBefore) {
+            line(out, "   ✅ User AUTHENTICATED!");
+            line(out, "   👤 Name: " + event.principalBefore);
+        } else {
+            line(out, "   ❌ User NOT authenticated yet");
+            line(out, "   💡 Ee request login require chestundi or public endpoint ki vellali");
+        }
+
+        // ═══════════════════════════════════════════════════════════════════
+        // STEP 4: WHICH FILTER WILL HANDLE THIS?
+        // ═══════════════════════════════════════════════════════════════════
+        line(out, "\n⚙️ STEP 4: EE REQUEST NI EVARU HANDLE CHESTARU?");
+        line(out, LINE);
+        handler(uri, out);
+
+        line(out, "\n" + LINE);
+        line(out, "▶️ NOW PASSING TO SPRING SECURITY FILTER CHAIN...");
+        line(out, LINE + "\n");
+
+        // ═══════════════════════════════════════════════════════════════════
+        // STEP 5: RESPONSE ANALYSIS (After all filters processed)
+        // ═══════════════════════════════════════════════════════════════════
+        int status = event.status;
+        line(out, "\n" + LINE);
+        line(out, "📤 STEP 5: RESPONSE READY (Filter chain complete)");
+        line(out, LINE);
+        line(out, "   📊 Status Code: " + status);
+        line(out, "   ⏱️ Took: " + TimeUnit.NANOSECONDS.toMillis(event.durationNanos) + " ms");
+
+        if (status == 302) {
+            String location = event.location;
+            line(out, "   🔄 REDIRECT HAPPENING!");
+            line(out, "   📍 Location: " + location);
+
+            if (location != null && location.contains("accounts.google.com")) {
+                line(out, "   💡 Google Login page ki redirect avtunnaav!");
+                line(out, "   ");
+                line(out, "   🔥 NEXT STEPS:");
+                line(out, "      1️⃣ Browser Google login page show chestundi");
+                line(out, "      2️⃣ Nuvvu credentials enter chesi login avtaav");
+                line(out, "      3️⃣ Google /login/oauth2/code/google ki redirect chestundi");
+                line(out, "      4️⃣ Aa request manam handle chesi tokens techukunatam");
+            } else if (location != null && location.contains("localhost:5173")) {
+                line(out, "   💡 React UI ki redirect avtunnaav!");
+                line(out, "   🎉 LOGIN SUCCESSFUL - React app lo dashboard chustav!");
+            }
+        } else if (status == 200) {
+            line(out, "   ✅ SUCCESS - Data returned!");
+        } else if (status == 401) {
+            line(out, "   ❌ UNAUTHORIZED - Login required!");
+        } else if (status == 403) {
+            line(out, "   ⛔ FORBIDDEN - Permission denied!");
+        }
+
+        if (event.authenticatedAfter) {
+            line(out, "   🔓 User is now AUTHENTICATED after this request!");
+        }
+
+        line(out, BORDER);
+        line(out, "✅ REQUEST #" + event.requestNumber + " COMPLETE\n");
+    }
+
+    private static void handler(String uri, StringBuilder out) {
+        FlowStep step = FlowStep.of(uri);
+        if (step == FlowStep.AUTHORIZATION_REDIRECT) {
+            line(out, "   🎯 TARGET: OAuth2AuthorizationRequestRedirectFilter");
+            line(out, "   📍 LOCATION: Spring Security internal filter");
+            line(out, "   ");
+            line(out, "   🔥 EM JARUGUTUNDI:");
+            line(out, "      1️⃣ State parameter generate chestundi (CSRF protection)");
+            line(out, "      2️⃣ State ni encrypted cookie lo save chestundi (session inka create avvadu)");
+            line(out, "      3️⃣ Google Authorization URL build chestundi");
+            line(out, "      4️⃣ 302 Redirect response istundi → Google ki vellipothav");
+            line(out, "   ");
+            line(out, "   📤 REDIRECT TO: https://accounts.google.com/o/oauth2/v2/auth");
+
+        } else if (step == FlowStep.LOGIN_CALLBACK) {
+            line(out, "   🎯 TARGET: OAuth2LoginAuthenticationFilter");
+            line(out, "   📍 LOCATION: Spring Security internal filter");
+            line(out, "   ");
+            line(out, "   🔥 EM JARUGUTUNDI:");
+            line(out, "      1️⃣ URL lo state parameter extract chestundi");
+            line(out, "      2️⃣ Cookie lo saved state tho compare chestundi (CSRF check)");
+            line(out, "      3️⃣ Authorization code extract chestundi");
+            line(out, "      4️⃣ Google Token Endpoint ki POST request chestundi:");
+            line(out, "         - URL: https://oauth2.googleapis.com/token");
+            line(out, "         - Body: client_id, client_secret, code, redirect_uri");
+            line(out, "      5️⃣ Google nundi tokens receive chestundi:");
+            line(out, "         - Access Token (opaque)");
+            line(out, "         - ID Token (JWT!)");
+            line(out, "      6️⃣ Tokens ni session lo save chestundi");
+            line(out, "      7️⃣ OidcUser object create chestundi");
+            line(out, "      8️⃣ 302 Redirect istundi → React ki vellipothav");
+            line(out, "   ");
+            line(out, "   📤 REDIRECT TO: http://localhost:5173/dashboard");
+
+        } else if (step == FlowStep.API) {
+            line(out, "   🎯 TARGET: Your Controller (ClientBackendController)");
+            line(out, "   📍 LOCATION: com.oauth.client_app.controller");
+            line(out, "   ");
+            line(out, "   🔥 EM JARUGUTUNDI:");
+            line(out, "      1️⃣ First ga AnonymousAuthenticationFilter check chestundi");
+            line(out, "      2️⃣ If authenticated - Controller ki pass avtundi");
+            line(out, "      3️⃣ Controller nundi @AuthenticationPrincipal use chesi user info access");
+
+            if (uri.equals("/api/photos")) {
+                line(out, "   ");
+                line(out, "   📸 /api/photos - SPECIAL FLOW:");
+                line(out, "      1️⃣ Session nundi ID Token (JWT) extract chestaru");
+                line(out, "      2️⃣ Resource Server (8081) ki call chestaru with JWT");
+                line(out, "      3️⃣ Header: Authorization: Bearer <JWT>");
+            }
+
+        } else if (step == FlowStep.LOGOUT) {
+            line(out, "   🎯 TARGET: LogoutFilter");
+            line(out, "   📍 LOCATION: Spring Security internal filter");
+            line(out, "   ");
+            line(out, "   🔥 EM JARUGUTUNDI:");
+            line(out, "      1️⃣ Session invalidate chestundi");
+            line(out, "      2️⃣ JSESSIONID cookie delete chestundi");
+            line(out, "      3️⃣ SecurityContext clear chestundi");
+            line(out, "      4️⃣ Redirect to React home page");
+
+        } else {
+            line(out, "   🎯 TARGET: Default handler or Controller");
+            line(out, "   💡 Normal request - authentication check tarvata process avtundi");
+        }
+    }
+
+    private static void line(StringBuilder out, String text) {
+        out.append(text).append('\n');
+    }
+}
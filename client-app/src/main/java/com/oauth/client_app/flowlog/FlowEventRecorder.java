@@ -0,0 +1,174 @@
+package com.oauth.client_app.flowlog;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 📼 ASYNC FLOW EVENT RECORDER
+ *
+ * Mawa! Patha OAuth2FlowLogger prathi request lo 30-60 System.out.println - println synchronized,
+ * so anni request threads okka console lock kosam queue lo. Ippudu:
+ *
+ * 1. Request thread → preallocated ring buffer slot lo fields copy (lock ledu, allocation ledu, I/O ledu)
+ * 2. Okka "flow-log-writer" thread → slots chadivi teaching text format chesi okkasari print
+ * 3. Buffer full (writer venakabadithe) → event drop + count - request eppudu wait cheyadu
+ * 4. Sampling: sample-rate fraction matrame record; OAuth2 login / logout URLs eppudu record (teaching kosam)
+ *
+ * Ring: producers CAS tho sequence claim chestaru (consumer kante capacity mundu velladu),
+ * slot fill chesi slot.sequence volatile write tho publish. Writer aa sequence kosam chusi chadivi cursor jarupu.
+ */
+@Component
+public class FlowEventRecorder implements DisposableBean {
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final boolean alwaysSampleAuthFlow;
+    private final PrintStream out;
+
+    private final FlowEvent[] slots;
+    private final int mask;
+    // claimed = next sequence to hand out, consumed = next sequence the writer will read
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    private final AtomicLong requestCounter = new AtomicLong();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public FlowEventRecorder(@Value("${flow-log.enabled:true}") boolean enabled,
+            @Value("${flow-log.buffer-size:1024}") int bufferSize,
+            @Value("${flow-log.sample-rate:1.0}") double sampleRate,
+            @Value("${flow-log.always-sample-auth-flow:true}") boolean alwaysSampleAuthFlow) {
+        this(enabled, bufferSize, sampleRate, alwaysSampleAuthFlow, System.out);
+    }
+
+    FlowEventRecorder(boolean enabled, int bufferSize, double sampleRate, boolean alwaysSampleAuthFlow,
+            PrintStream out) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.alwaysSampleAuthFlow = alwaysSampleAuthFlow;
+        this.out = out;
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.slots = new FlowEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new FlowEvent();
+        }
+        this.mask = capacity - 1;
+        this.writer = new Thread(this::drainLoop, "flow-log-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Accurate request number - every request counts, sampled or not.
+     */
+    public long nextRequestNumber() {
+        return requestCounter.incrementAndGet();
+    }
+
+    public boolean shouldRecord(String uri) {
+        if (!enabled) {
+            return false;
+        }
+        if (sampleRate >= 1.0 || alwaysSampleAuthFlow && FlowEventFormatter.isAuthFlow(uri)
+                || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return true;
+        }
+        sampledOut.increment();
+        return false;
+    }
+
+    /**
+     * Copies the request's flow facts into the next free slot. Never blocks: drops the event if the writer is
+     * a full buffer behind.
+     */
+    public void record(long requestNumber, long startNanos, HttpServletRequest request, HttpServletResponse response,
+            Authentication before, Authentication after) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        FlowEvent event = slots[(int) (sequence & mask)];
+        event.requestNumber = requestNumber;
+        event.timestampMillis = System.currentTimeMillis();
+        event.durationNanos = System.nanoTime() - startNanos;
+        event.method = request.getMethod();
+        event.uri = request.getRequestURI();
+        event.query = request.getQueryString();
+        event.requestedSessionId = request.getRequestedSessionId();
+        event.authenticatedBefore = before != null && before.isAuthenticated();
+        event.principalBefore = event.authenticatedBefore ? before.getName() : null;
+        event.status = response.getStatus();
+        event.location = response.getHeader("Location");
+        event.authenticatedAfter = after != null && after.isAuthenticated();
+        event.sequence = sequence; // publish
+        recorded.increment();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requestCounter.get());
+        stats.put("recorded", recorded.sum());
+        stats.put("sampledOut", sampledOut.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("backlog", claimed.get() - consumed.get());
+        stats.put("capacity", slots.length);
+        return stats;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    // ========== Writer thread ==========
+
+    private void drainLoop() {
+        StringBuilder text = new StringBuilder(4096);
+        while (true) {
+            long next = consumed.get();
+            FlowEvent event = slots[(int) (next & mask)];
+            if (event.sequence != next) {
+                if (!running && next == claimed.get()) {
+                    return; // shutdown - anni drain ayyayi
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                continue;
+            }
+            text.setLength(0);
+            FlowEventFormatter.format(event, text);
+            event.clear();
+            // Slot free - producers malli vaadukovachu (print mundu, so slow console ring ni block cheyadu)
+            consumed.lazySet(next + 1);
+            out.print(text);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.oauth.client_app.flowlog;
+
+/**
+ * Which OAuth2 flow step a request belongs to - OAuth2FlowLogger STEP 4 ("evaru handle chestaru?") model.
+ * Metrics lo kuda ide tag (low cardinality - URI kaadu).
+ */
+public enum FlowStep {
+
+    AUTHORIZATION_REDIRECT("authorization_redirect"),
+    LOGIN_CALLBACK("login_callback"),
+    API("api"),
+    LOGOUT("logout"),
+    OTHER("other");
+
+    private final String tag;
+
+    FlowStep(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public static FlowStep of(String uri) {
+        if (uri.startsWith("/oauth2/authorization/")) {
+            return AUTHORIZATION_REDIRECT;
+        }
+        if (uri.startsWith("/login/oauth2/code/")) {
+            return LOGIN_CALLBACK;
+        }
+        if (uri.startsWith("/api/")) {
+            return API;
+        }
+        if (uri.equals("/logout")) {
+            return LOGOUT;
+        }
+        return OTHER;
+    }
+}
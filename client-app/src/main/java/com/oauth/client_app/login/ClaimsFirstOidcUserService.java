@@ -0,0 +1,129 @@
+package com.oauth.client_app.login;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
+import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🪪 CLAIMS-FIRST OIDC USER SERVICE
+ *
+ * Mawa! Code exchange tarvata OidcUserService Google userinfo endpoint ki inko blocking call chestundi -
+ * kani ID token lo already name, email, picture unnayi (profile + email scopes). So:
+ *
+ * 1. user-info=when-missing → required-claims anni ID token lo unte userinfo call ledu, OidcUser ID token nundi
+ * 2. Claims takkuva unte matrame userinfo - response sub ki cache (ttl), same user malli login aithe call ledu
+ * 3. user-info=always → patha behaviour (prathi login fetch), kani cache tho; never → eppudu fetch cheyyam
+ *
+ * Cache key = registrationId + ID token sub - sub already validated ID token nundi, userinfo sub check
+ * OidcUserService ne chestundi. Authorities / name attribute Spring default laane.
+ */
+@Component
+public class ClaimsFirstOidcUserService {
+
+    enum Mode {
+        WHEN_MISSING, ALWAYS, NEVER
+    }
+
+    // OidcUserService default accessible scopes - veetilo okkati kuda lekapote userinfo emi ivvadu
+    private static final Set<String> ACCESSIBLE_SCOPES = Set.of(OidcScopes.OPENID, OidcScopes.PROFILE,
+            OidcScopes.EMAIL, OidcScopes.ADDRESS, OidcScopes.PHONE);
+
+    private final Mode mode;
+    private final List<String> requiredClaims;
+    private final OidcUserService delegate = new OidcUserService();
+    private final DefaultOAuth2UserService userInfoClient = new DefaultOAuth2UserService();
+    private final Cache<String, OAuth2User> userInfoCache;
+
+    private final LongAdder logins = new LongAdder();
+    private final LongAdder idTokenOnly = new LongAdder();
+    private final LongAdder userInfoFetches = new LongAdder();
+
+    public ClaimsFirstOidcUserService(@Value("${login.user-info:when-missing}") String mode,
+            @Value("${login.required-claims:name,email,picture}") List<String> requiredClaims,
+            @Value("${login.user-info-cache.ttl:10m}") Duration cacheTtl,
+            @Value("${login.user-info-cache.maximum-size:10000}") long cacheSize) {
+        this.mode = Mode.valueOf(mode.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        this.requiredClaims = List.copyOf(requiredClaims);
+        this.userInfoCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheSize)
+                .build();
+        delegate.setRetrieveUserInfo(this::shouldRetrieveUserInfo);
+        delegate.setOauth2UserService(this::cachedUserInfo);
+    }
+
+    public OidcUser loadUser(OidcUserRequest request) {
+        logins.increment();
+        return delegate.loadUser(request);
+    }
+
+    private boolean shouldRetrieveUserInfo(OidcUserRequest request) {
+        if (mode == Mode.NEVER || !userInfoAvailable(request)) {
+            idTokenOnly.increment();
+            return false;
+        }
+        if (mode == Mode.WHEN_MISSING && request.getIdToken().getClaims().keySet().containsAll(requiredClaims)) {
+            idTokenOnly.increment();
+            return false;
+        }
+        return true;
+    }
+
+    // OidcUserService default predicate: userinfo uri + authorization_code + accessible scope
+    private static boolean userInfoAvailable(OidcUserRequest request) {
+        if (!StringUtils.hasLength(request.getClientRegistration().getProviderDetails().getUserInfoEndpoint()
+                .getUri())
+                || !AuthorizationGrantType.AUTHORIZATION_CODE
+                        .equals(request.getClientRegistration().getAuthorizationGrantType())) {
+            return false;
+        }
+        Set<String> scopes = request.getAccessToken().getScopes();
+        return CollectionUtils.isEmpty(scopes) || CollectionUtils.containsAny(scopes, ACCESSIBLE_SCOPES);
+    }
+
+    private OAuth2User cachedUserInfo(OAuth2UserRequest request) {
+        if (!(request instanceof OidcUserRequest oidcRequest)) {
+            userInfoFetches.increment();
+            return userInfoClient.loadUser(request);
+        }
+        String key = request.getClientRegistration().getRegistrationId() + ':'
+                + oidcRequest.getIdToken().getSubject();
+        return userInfoCache.get(key, ignored -> {
+            userInfoFetches.increment();
+            return userInfoClient.loadUser(request);
+        });
+    }
+
+    public Map<String, Object> stats() {
+        long total = logins.sum();
+        long skipped = idTokenOnly.sum();
+        long fetched = userInfoFetches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", mode.name().toLowerCase(Locale.ROOT).replace('_', '-'));
+        stats.put("logins", total);
+        stats.put("idTokenOnly", skipped);
+        stats.put("userInfoFetches", fetched);
+        stats.put("userInfoCacheHits", Math.max(0, total - skipped - fetched));
+        stats.put("userInfoCached", userInfoCache.estimatedSize());
+        return stats;
+    }
+}
@@ -0,0 +1,187 @@
+package com.oauth.client_app.login;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenDecoderFactory;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenValidator;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🔑 PREWARMED ID TOKEN DECODERS
+ *
+ * Mawa! OidcIdTokenDecoderFactory decoder lazy - startup tarvata first login ID token validate chese mundu
+ * Google JWKS (public keys) fetch chestundi, aa user callback lo inko remote round trip wait.
+ *
+ * 1. Decoders anni okka JWKS cache share chestayi (key = jwk-set-uri) - login, token refresh rendu same keys
+ * 2. App ready avvagane background thread JWKS fetch chesi cache lo pedutundi → first login ki fetch ledu
+ * 3. Unknown kid (Google key rotate) vaste decoder cache invalidate chesi malli fetch - patha laane
+ * 4. Prewarm fail aithe warn matrame - first login lazy ga fetch chestundi, startup eppudu block avvadu
+ * 5. Cache TTL-bound: JWKS response Cache-Control max-age (max-ttl daaka), header lekapote ttl - Google
+ *    rotate chesi teesesina / revoke chesina key restart varaku validate avvakudadu
+ *
+ * Validation OidcIdTokenDecoderFactory laane: RS256 signature, iss/aud/exp/iat (OidcIdTokenValidator), claim types.
+ * jwk-set-uri leni registrations ki Spring factory ne vaadatam.
+ */
+@Component
+public class IdTokenDecoders {
+
+    private static final Logger log = LoggerFactory.getLogger(IdTokenDecoders.class);
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])max-age=(\\d+)");
+
+    private final ClientRegistrationRepository registrations;
+    private final boolean prewarm;
+    private final RestTemplate restTemplate;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    // jwk-set-uri → last response Cache-Control lifetime (cache entry create avvagane expiry ki chaduvutam)
+    private final Map<String, Duration> responseLifetimes = new ConcurrentHashMap<>();
+    private final Cache jwksCache;
+    private final OidcIdTokenDecoderFactory fallback = new OidcIdTokenDecoderFactory();
+    private final ClaimTypeConverter claimTypes = new ClaimTypeConverter(
+            OidcIdTokenDecoderFactory.createDefaultClaimTypeConverters());
+
+    // registrationId → decoder
+    private final Map<String, JwtDecoder> decoders = new ConcurrentHashMap<>();
+
+    private final LongAdder prewarmed = new LongAdder();
+    private final LongAdder prewarmFailures = new LongAdder();
+    private final LongAdder jwksFetches = new LongAdder();
+
+    public IdTokenDecoders(ClientRegistrationRepository registrations,
+            @Value("${login.prewarm.enabled:true}") boolean prewarm,
+            @Value("${login.prewarm.timeout:5s}") Duration timeout,
+            @Value("${login.jwks-cache.ttl:5m}") Duration defaultTtl,
+            @Value("${login.jwks-cache.max-ttl:1h}") Duration maxTtl) {
+        this.registrations = registrations;
+        this.prewarm = prewarm;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+        // Decoder fetch + prewarm rendu ee RestTemplate - response headers nundi lifetime note
+        this.restTemplate.getInterceptors().add((request, body, execution) -> {
+            ClientHttpResponse response = execution.execute(request, body);
+            jwksFetches.increment();
+            responseLifetimes.put(request.getURI().toString(), lifetime(response.getHeaders()));
+            return response;
+        });
+        this.jwksCache = new CaffeineCache("jwks", Caffeine.newBuilder()
+                .expireAfter(new Expiry<Object, Object>() {
+                    @Override
+                    public long expireAfterCreate(Object key, Object value, long currentTime) {
+                        return responseLifetimes.getOrDefault(String.valueOf(key), defaultTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build(), false);
+    }
+
+    // Cache-Control max-age (max-ttl daaka cap); header / max-age lekapote ttl
+    private Duration lifetime(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return defaultTtl;
+        }
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        if (!maxAge.find()) {
+            return defaultTtl;
+        }
+        Duration lifetime = Duration.ofSeconds(Long.parseLong(maxAge.group(1)));
+        return lifetime.compareTo(maxTtl) > 0 ? maxTtl : lifetime;
+    }
+
+    public JwtDecoder createDecoder(ClientRegistration registration) {
+        String jwkSetUri = registration.getProviderDetails().getJwkSetUri();
+        if (!StringUtils.hasText(jwkSetUri)) {
+            return fallback.createDecoder(registration);
+        }
+        return decoders.computeIfAbsent(registration.getRegistrationId(), id -> {
+            NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri)
+                    .jwsAlgorithm(SignatureAlgorithm.RS256)
+                    .restOperations(restTemplate)
+                    .cache(jwksCache)
+                    .build();
+            decoder.setJwtValidator(JwtValidators.createDefaultWithValidators(new OidcIdTokenValidator(registration)));
+            decoder.setClaimSetConverter(claimTypes);
+            return decoder;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        if (!prewarm || !(registrations instanceof Iterable<?> all)) {
+            return;
+        }
+        Thread thread = new Thread(() -> all.forEach(registration -> prewarm((ClientRegistration) registration)),
+                "jwks-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void prewarm(ClientRegistration registration) {
+        String jwkSetUri = registration.getProviderDetails().getJwkSetUri();
+        if (!StringUtils.hasText(jwkSetUri) || jwksCache.get(jwkSetUri) != null) {
+            return;
+        }
+        try {
+            String jwks = restTemplate.getForObject(jwkSetUri, String.class);
+            if (jwks != null) {
+                jwksCache.putIfAbsent(jwkSetUri, jwks);
+                createDecoder(registration);
+                prewarmed.increment();
+                log.info("🔑 JWKS for '{}' prewarmed", registration.getRegistrationId());
+            }
+        } catch (RuntimeException ex) {
+            prewarmFailures.increment();
+            log.warn("⚠️ JWKS prewarm for '{}' failed: {} - first login will fetch it",
+                    registration.getRegistrationId(), ex.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("decoders", decoders.size());
+        stats.put("prewarmed", prewarmed.sum());
+        stats.put("prewarmFailures", prewarmFailures.sum());
+        stats.put("jwksFetches", jwksFetches.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,109 @@
+package com.oauth.client_app.metrics;
+
+import com.oauth.client_app.flowlog.FlowStep;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ⏱️ PER-PHASE FLOW TIMERS
+ *
+ * Mawa! Login / dashboard load lo time ekkada potundo telusukovali ante prathi phase ki separate timer:
+ *
+ * - oauth2.flow.request{step, outcome} → OAuth2FlowLogger step (authorization_redirect, login_callback, api...)
+ *   motham request time - redirect filter time idhe (aa request lo vere pani ledu)
+ * - oauth2.flow.phase{phase, outcome} → request lopala pieces: code_exchange, id_token_validation,
+ *   user_info, controller, resource_server, token_refresh
+ *
+ * Tags anni fixed enum values - URI / user ledu, so Prometheus series count chinnadi.
+ * Percentile histograms application.yaml lo (management.metrics.distribution) on - p50/p99 per phase.
+ * Timers startup lo okkasari build - request path lo registry lookup ledu.
+ */
+@Component
+public class FlowMetrics {
+
+    public enum Phase {
+        CODE_EXCHANGE("code_exchange"),
+        ID_TOKEN_VALIDATION("id_token_validation"),
+        USER_INFO("user_info"),
+        CONTROLLER("controller"),
+        RESOURCE_SERVER("resource_server"),
+        TOKEN_REFRESH("token_refresh");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS, REDIRECTION, CLIENT_ERROR, SERVER_ERROR, ERROR;
+
+        public static Outcome ofStatus(int status) {
+            if (status >= 500) {
+                return SERVER_ERROR;
+            }
+            if (status >= 400) {
+                return CLIENT_ERROR;
+            }
+            return status >= 300 ? REDIRECTION : SUCCESS;
+        }
+    }
+
+    private final Map<FlowStep, Map<Outcome, Timer>> requestTimers = new EnumMap<>(FlowStep.class);
+    private final Map<Phase, Map<Outcome, Timer>> phaseTimers = new EnumMap<>(Phase.class);
+
+    public FlowMetrics(MeterRegistry registry) {
+        for (FlowStep step : FlowStep.values()) {
+            Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Timer.builder("oauth2.flow.request")
+                        .description("End-to-end request time per OAuth2 flow step")
+                        .tag("step", step.tag())
+                        .tag("outcome", outcome.name())
+                        .register(registry));
+            }
+            requestTimers.put(step, byOutcome);
+        }
+        for (Phase phase : Phase.values()) {
+            Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Timer.builder("oauth2.flow.phase")
+                        .description("Time spent in one phase of the login / proxy flow")
+                        .tag("phase", phase.tag)
+                        .tag("outcome", outcome.name())
+                        .register(registry));
+            }
+            phaseTimers.put(phase, byOutcome);
+        }
+    }
+
+    public void recordRequest(FlowStep step, int status, long durationNanos) {
+        requestTimers.get(step).get(Outcome.ofStatus(status)).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPhase(Phase phase, Outcome outcome, long durationNanos) {
+        phaseTimers.get(phase).get(outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Times {@code work} as {@code phase}; an exception is recorded as {@link Outcome#ERROR} and rethrown.
+     */
+    public <T> T time(Phase phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            T result = work.get();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } finally {
+            recordPhase(phase, outcome, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.oauth.client_app.relay;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.oauth.client_app.metrics.FlowMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🗃️ PER-USER PROXIED-RESPONSE CACHE
+ *
+ * Mawa! React dashboard refresh ayina prathi sari /api/photos → resource-server call.
+ * Kani oka user (sub) content chala arudu ga maarutundi. So:
+ *
+ * 1. Key = (sub, downstream path) - oka user response inkokariki eppudu kanipinchadu
+ * 2. fresh-for lopala → direct ga cache nundi (downstream call ledu)
+ * 3. Stale aithe → If-None-Match: etag tho revalidate, 304 vaste body reuse (bytes transfer ledu)
+ * 4. Same key ki concurrent misses → okka downstream call, migatha vallu adhe result share
+ * 5. Entry token exp daatithe undadu - user token poyaka vaadi data cache lo undakudadu
+ * 6. invalidate() in-flight fetch ni kuda fence chestundi - upload mundu start ayina fetch stale listing put cheyyadu
+ */
+@Component
+public class ProxyResponseCache {
+
+    private final RestTemplate restTemplate;
+    private final FlowMetrics metrics;
+    private final Duration freshFor;
+    private final Duration maxTtl;
+    private final Cache<Key, CachedResponse> cache;
+
+    // Single-flight: key → in-progress fetch/revalidation. invalidate() ee entry teeseste aa fetch result cache avvadu
+    private final Map<Key, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder sharedWaits = new LongAdder();
+
+    public ProxyResponseCache(RestTemplate restTemplate, FlowMetrics metrics,
+            @Value("${proxy-cache.maximum-size:64MB}") DataSize maximumSize,
+            @Value("${proxy-cache.fresh-for:30s}") Duration freshFor,
+            @Value("${proxy-cache.max-ttl:1h}") Duration maxTtl) {
+        this.restTemplate = restTemplate;
+        this.metrics = metrics;
+        this.freshFor = freshFor;
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                // String chars ~2 bytes each - weight approx heap size
+                .weigher((Key key, CachedResponse value) -> value.body().length() * 2)
+                .expireAfter(new TokenBoundExpiry())
+                .recordStats()
+                .build();
+    }
+
+    private record Key(String subject, String path) {
+    }
+
+    /**
+     * Cached downstream response; {@code expiresAt} is the token expiry the entry was fetched under.
+     */
+    public record CachedResponse(int status, MediaType contentType, String etag, String body, Instant fetchedAt,
+            Instant expiresAt) {
+
+        boolean isFresh(Duration freshFor) {
+            return fetchedAt.plus(freshFor).isAfter(Instant.now());
+        }
+    }
+
+    /**
+     * Returns the response for {@code uri}, fetching or revalidating it with {@code bearerToken} when needed.
+     *
+     * @throws org.springframework.web.client.RestClientException if the downstream call fails (not cached)
+     * @throws InterruptedException if interrupted while waiting on another caller's fetch for the same key
+     */
+    public CachedResponse get(String subject, String path, String uri, String bearerToken, Instant tokenExpiresAt)
+            throws InterruptedException {
+        Key key = new Key(subject, path);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh(freshFor)) {
+            freshHits.increment();
+            return cached;
+        }
+
+        CompletableFuture<CachedResponse> created = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            sharedWaits.increment();
+            return await(existing);
+        }
+        try {
+            CachedResponse response = fetch(key, created, uri, bearerToken, tokenExpiresAt, cached);
+            created.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    // Upload / delete tarvata aa user entries stale - next read downstream nundi.
+    // Order important: mundu in-flight fence, tarvata cache - fence mundu put ayina entry rendo step lo potundi
+    public void invalidate(String subject) {
+        inFlight.keySet().removeIf(key -> key.subject().equals(subject));
+        cache.asMap().keySet().removeIf(key -> key.subject().equals(subject));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", cache.estimatedSize());
+        stats.put("freshHits", freshHits.sum());
+        stats.put("revalidated", revalidated.sum());
+        stats.put("fetches", fetches.sum());
+        stats.put("sharedWaits", sharedWaits.sum());
+        stats.put("evictions", cache.stats().evictionCount());
+        return stats;
+    }
+
+    // ========== Internals ==========
+
+    private CachedResponse fetch(Key key, CompletableFuture<CachedResponse> flight, String uri, String bearerToken,
+            Instant tokenExpiresAt, CachedResponse stale) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(bearerToken);
+        if (stale != null && stale.etag() != null) {
+            headers.setIfNoneMatch(stale.etag());
+        }
+        ResponseEntity<String> response = metrics.time(FlowMetrics.Phase.RESOURCE_SERVER,
+                () -> restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), String.class));
+
+        Instant now = Instant.now();
+        Instant expiresAt = tokenExpiresAt != null && tokenExpiresAt.isBefore(now.plus(maxTtl)) ? tokenExpiresAt
+                : now.plus(maxTtl);
+        CachedResponse result;
+        if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value() && stale != null) {
+            revalidated.increment();
+            result = new CachedResponse(stale.status(), stale.contentType(), stale.etag(), stale.body(), now,
+                    expiresAt);
+        } else {
+            fetches.increment();
+            result = new CachedResponse(response.getStatusCode().value(), response.getHeaders().getContentType(),
+                    response.getHeaders().getETag(), response.getBody() != null ? response.getBody() : "", now,
+                    expiresAt);
+        }
+        // Token already expire aithe (leda 200 kaakapote) cache cheyyam - result matrame return
+        if (expiresAt.isAfter(now) && result.status() == 200) {
+            // Mana flight inka registered aithe ne put - bin lock lo, so invalidate() madhyalo dooradu
+            inFlight.computeIfPresent(key, (k, current) -> {
+                if (current == flight) {
+                    cache.put(k, result);
+                }
+                return current;
+            });
+        }
+        return result;
+    }
+
+    // Interruptible wait - DashboardAggregator cancel(true) chesthe shared waiter kuda aagipotadu
+    private static CachedResponse await(CompletableFuture<CachedResponse> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // TTL = entry expiresAt - now (token exp, maxTtl tho cap)
+    private static final class TokenBoundExpiry implements Expiry<Key, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(Key key, CachedResponse value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.oauth.client_app.relay;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * 📦 MULTIPART RESOLVER THAT LEAVES RELAYED BODIES ALONE
+ *
+ * Mawa! Default StandardServletMultipartResolver DispatcherServlet.checkMultipart lo getParts() call chestundi -
+ * Tomcat body antha chadivi parts ga parse chestundi (spring.servlet.multipart.max-file-size daatithe
+ * MaxUploadSizeExceededException). Relay ki body raw bytes ga downstream ki stream avvali, so
+ * {@code relay.path-prefix} kinda requests multipart kaadu ani cheptam - {@link TokenRelay} input stream
+ * untouched ga chadavutundi, size limit resource-server di.
+ *
+ * Bean name "multipartResolver" - DispatcherServlet adhe name tho chustundi, Boot default back off avutundi.
+ */
+@Component(DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+public class RelayMultipartResolver extends StandardServletMultipartResolver {
+
+    private final String pathPrefix;
+
+    public RelayMultipartResolver(@Value("${relay.path-prefix:/api/rs}") String pathPrefix) {
+        this.pathPrefix = pathPrefix.endsWith("/") ? pathPrefix.substring(0, pathPrefix.length() - 1) : pathPrefix;
+    }
+
+    @Override
+    public boolean isMultipart(HttpServletRequest request) {
+        return !isRelayed(request) && super.isMultipart(request);
+    }
+
+    private boolean isRelayed(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(pathPrefix) || path.startsWith(pathPrefix + "/");
+    }
+}
@@ -0,0 +1,185 @@
+package com.oauth.client_app.relay;
+
+import com.oauth.client_app.metrics.FlowMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 🔁 STREAMING TOKEN RELAY
+ *
+ * Mawa! Browser → client-app → resource-server. Browser daggara token ledu (session cookie matrame),
+ * so manam Bearer token attach chesi downstream ki forward chestam.
+ *
+ * - Request body browser nundi downstream ki chunk-chunk ga stream (heap lo full body ledu)
+ * - Response body downstream nundi browser ki 8 KB chunks lo stream
+ * - Hop-by-hop headers (Connection, Transfer-Encoding, ...) explicit ga drop - each hop tana sonta
+ * - Browser Cookie / Authorization downstream ki vellavu, downstream Set-Cookie browser ki raadu
+ *
+ * Memory per proxied request = okka buffer, payload size tho sambandham ledu.
+ */
+@Component
+public class TokenRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRelay.class);
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    // RFC 9110 section 7.6.1 + legacy proxy headers - one hop ki matrame meaning
+    private static final Set<String> HOP_BY_HOP = caseInsensitive("Connection", "Keep-Alive", "Proxy-Connection",
+            "Proxy-Authenticate", "Proxy-Authorization", "TE", "Trailer", "Transfer-Encoding", "Upgrade");
+
+    // Request side: Host/Content-Length/Expect client set chestundi, credentials manave attach chestam
+    private static final Set<String> DROPPED_REQUEST = caseInsensitive("Host", "Content-Length", "Expect", "Cookie",
+            "Authorization");
+
+    // Response side: downstream cookies BFF domain meeda set avvakudadu
+    private static final Set<String> DROPPED_RESPONSE = caseInsensitive("Set-Cookie", "Set-Cookie2");
+
+    private final CloseableHttpClient httpClient;
+    private final RequestConfig requestConfig;
+    private final FlowMetrics metrics;
+
+    public TokenRelay(CloseableHttpClient downstreamHttpClient, RequestConfig downstreamRequestConfig,
+            FlowMetrics metrics) {
+        this.httpClient = downstreamHttpClient;
+        this.metrics = metrics;
+        // 3xx browser ki as-is - relay redirect follow cheyadu
+        this.requestConfig = RequestConfig.copy(downstreamRequestConfig).setRedirectsEnabled(false).build();
+    }
+
+    /**
+     * Streams {@code request} to {@code target} with the given bearer token and streams the answer back.
+     *
+     * @throws IOException if the downstream call fails before anything was written to the browser
+     */
+    public void relay(HttpServletRequest request, HttpServletResponse response, URI target, String bearerToken)
+            throws IOException {
+        HttpUriRequestBase downstream = new HttpUriRequestBase(request.getMethod(), target);
+        Set<String> connectionTokens = connectionTokens(request.getHeaders(HttpHeaders.CONNECTION));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (isHopByHop(name, connectionTokens) || DROPPED_REQUEST.contains(name)) {
+                continue;
+            }
+            for (String value : Collections.list(request.getHeaders(name))) {
+                downstream.addHeader(name, value);
+            }
+        }
+        downstream.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + bearerToken);
+        downstream.addHeader("X-Forwarded-Host", request.getServerName() + ":" + request.getServerPort());
+        downstream.addHeader("X-Forwarded-Proto", request.getScheme());
+
+        if (hasBody(request)) {
+            // Length teliyakapote (-1) chunked ga vellutundi
+            ContentType contentType = request.getContentType() != null ? ContentType.parse(request.getContentType())
+                    : null;
+            downstream.setEntity(new InputStreamEntity(request.getInputStream(), request.getContentLengthLong(),
+                    contentType));
+        }
+
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(requestConfig);
+
+        // ⏱️ resource_server phase = downstream call + body streaming (streaming lo browser speed kuda kalustundi)
+        long start = System.nanoTime();
+        FlowMetrics.Outcome outcome = FlowMetrics.Outcome.ERROR;
+        try {
+            execute(downstream, context, response);
+            outcome = FlowMetrics.Outcome.SUCCESS;
+        } finally {
+            metrics.recordPhase(FlowMetrics.Phase.RESOURCE_SERVER, outcome, System.nanoTime() - start);
+        }
+        log.debug("🔁 Relayed {} {} → {}", request.getMethod(), request.getRequestURI(), target);
+    }
+
+    private void execute(HttpUriRequestBase downstream, HttpClientContext context, HttpServletResponse response)
+            throws IOException {
+        httpClient.execute(downstream, context, downstreamResponse -> {
+            response.setStatus(downstreamResponse.getCode());
+            Set<String> responseConnectionTokens = connectionTokens(downstreamResponse.getHeaders(HttpHeaders.CONNECTION));
+            for (Header header : downstreamResponse.getHeaders()) {
+                String name = header.getName();
+                if (isHopByHop(name, responseConnectionTokens) || DROPPED_RESPONSE.contains(name)) {
+                    continue;
+                }
+                response.addHeader(name, header.getValue());
+            }
+            HttpEntity entity = downstreamResponse.getEntity();
+            if (entity != null) {
+                copy(entity, response.getOutputStream());
+            }
+            return null;
+        });
+    }
+
+    private static void copy(HttpEntity entity, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = entity.getContent()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        out.flush();
+    }
+
+    private static boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    private static boolean isHopByHop(String name, Set<String> connectionTokens) {
+        return HOP_BY_HOP.contains(name) || connectionTokens.contains(name);
+    }
+
+    // "Connection: close, X-Foo" → X-Foo kuda hop-by-hop
+    private static Set<String> connectionTokens(Enumeration<String> values) {
+        Set<String> tokens = caseInsensitive();
+        while (values.hasMoreElements()) {
+            addTokens(tokens, values.nextElement());
+        }
+        return tokens;
+    }
+
+    private static Set<String> connectionTokens(Header[] headers) {
+        Set<String> tokens = caseInsensitive();
+        for (Header header : headers) {
+            addTokens(tokens, header.getValue());
+        }
+        return tokens;
+    }
+
+    private static void addTokens(Set<String> tokens, String value) {
+        for (String token : value.split(",")) {
+            if (!token.isBlank()) {
+                tokens.add(token.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    private static Set<String> caseInsensitive(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Collections.addAll(set, names);
+        return set;
+    }
+}
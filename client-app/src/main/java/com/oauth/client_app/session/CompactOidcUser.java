@@ -0,0 +1,208 @@
+package com.oauth.client_app.session;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenDecoderFactory;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
+import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🪶 LAZY OIDC PRINCIPAL
+ *
+ * DefaultOidcUser lo ID token claims, userinfo claims, rendu kalipina attributes map - anni eager ga.
+ * Ikkada raw ID token string + userinfo JSON matrame; getIdToken / getAttributes first call lo parse.
+ * Most requests getName() matrame adugutayi - adi parse lekunda stored value.
+ *
+ * Claims DefaultOidcUser laane convert avtayi (iat/exp → Instant, iss → URL...), iss/aud instances sessions anni share.
+ */
+final class CompactOidcUser implements OidcUser, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> CLAIMS = new TypeReference<>() {
+    };
+    private static final ClaimTypeConverter ID_TOKEN_CLAIMS = new ClaimTypeConverter(
+            OidcIdTokenDecoderFactory.createDefaultClaimTypeConverters());
+    private static final ClaimTypeConverter USER_INFO_CLAIMS = new ClaimTypeConverter(
+            OidcUserService.createDefaultClaimTypeConverters());
+
+    // Trusted issuers konni matrame - cap untundi ante evaru random iss tho map penchaleru
+    private static final int MAX_SHARED_ISSUERS = 64;
+    private static final Map<String, Object> ISSUERS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String idTokenValue;
+    private final String userInfoJson;
+    private final List<GrantedAuthority> authorities;
+
+    private transient volatile OidcIdToken idToken;
+    private transient volatile OidcUserInfo userInfo;
+    private transient volatile Map<String, Object> attributes;
+
+    CompactOidcUser(String name, String idTokenValue, String userInfoJson,
+            Collection<? extends GrantedAuthority> authorities) {
+        this.name = name;
+        this.idTokenValue = idTokenValue;
+        this.userInfoJson = userInfoJson;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    String idTokenValue() {
+        return idTokenValue;
+    }
+
+    String userInfoJson() {
+        return userInfoJson;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public OidcIdToken getIdToken() {
+        OidcIdToken token = idToken;
+        if (token == null) {
+            Map<String, Object> claims = shareIssuerAndAudience(ID_TOKEN_CLAIMS.convert(parsePayload(idTokenValue)));
+            token = new OidcIdToken(idTokenValue, (Instant) claims.get(IdTokenClaimNames.IAT),
+                    (Instant) claims.get(IdTokenClaimNames.EXP), claims);
+            idToken = token;
+        }
+        return token;
+    }
+
+    @Override
+    public OidcUserInfo getUserInfo() {
+        if (userInfoJson == null) {
+            return null;
+        }
+        OidcUserInfo info = userInfo;
+        if (info == null) {
+            info = new OidcUserInfo(USER_INFO_CLAIMS.convert(readJson(userInfoJson)));
+            userInfo = info;
+        }
+        return info;
+    }
+
+    @Override
+    public Map<String, Object> getClaims() {
+        return getAttributes();
+    }
+
+    // DefaultOidcUser order: userinfo claims, tarvata ID token claims (ID token gelustundi)
+    @Override
+    public Map<String, Object> getAttributes() {
+        Map<String, Object> merged = attributes;
+        if (merged == null) {
+            merged = new LinkedHashMap<>();
+            OidcUserInfo info = getUserInfo();
+            if (info != null) {
+                merged.putAll(info.getClaims());
+            }
+            merged.putAll(getIdToken().getClaims());
+            merged = Collections.unmodifiableMap(merged);
+            attributes = merged;
+        }
+        return merged;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof CompactOidcUser that && name.equals(that.name)
+                && idTokenValue.equals(that.idTokenValue) && authorities.equals(that.authorities);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, idTokenValue);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactOidcUser [name=" + name + ", authorities=" + authorities + "]";
+    }
+
+    // ========== Parsing ==========
+
+    private static Map<String, Object> parsePayload(String jwt) {
+        int start = jwt.indexOf('.');
+        int end = jwt.indexOf('.', start + 1);
+        if (start < 0 || end < 0) {
+            throw new IllegalStateException("Stored ID token is not a JWT");
+        }
+        byte[] payload = Base64.getUrlDecoder().decode(jwt.substring(start + 1, end));
+        try {
+            return JSON.readValue(payload, CLAIMS);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static Map<String, Object> readJson(String json) {
+        try {
+            return JSON.readValue(json, CLAIMS);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static String writeJson(Map<String, Object> claims) {
+        // Instant lanti values epoch seconds ga - readJson tarvata claim converter malli Instant chestundi
+        Map<String, Object> plain = new LinkedHashMap<>();
+        claims.forEach((key, value) -> plain.put(key, value instanceof Instant instant ? instant.getEpochSecond()
+                : value));
+        try {
+            return JSON.writeValueAsString(plain);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Anni sessions lo same issuer (URL) / client id - okka copy chalu
+    private static Map<String, Object> shareIssuerAndAudience(Map<String, Object> claims) {
+        Object issuer = claims.get(IdTokenClaimNames.ISS);
+        if (issuer != null) {
+            Object shared = ISSUERS.get(issuer.toString());
+            if (shared == null && ISSUERS.size() < MAX_SHARED_ISSUERS) {
+                shared = ISSUERS.computeIfAbsent(issuer.toString(), key -> issuer);
+            }
+            if (shared != null) {
+                claims.put(IdTokenClaimNames.ISS, shared);
+            }
+        }
+        Object audience = claims.get(IdTokenClaimNames.AUD);
+        if (audience instanceof String single) {
+            claims.put(IdTokenClaimNames.AUD, single.intern());
+        } else if (audience instanceof List<?> list) {
+            claims.put(IdTokenClaimNames.AUD, list.stream().map(value -> ((String) value).intern()).toList());
+        }
+        return claims;
+    }
+}
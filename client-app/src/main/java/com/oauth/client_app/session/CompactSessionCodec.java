@@ -0,0 +1,343 @@
+package com.oauth.client_app.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 🗜️ COMPACT SESSION CODEC
+ *
+ * Mawa! Java serialization lo logged-in session = DefaultOidcUser (ID token + claims + userinfo + attributes
+ * map, authorities lo malli ID token copy) + OAuth2AuthorizedClient (full ClientRegistration tho saha).
+ * Prathi user ki chala KB. Ee codec rendu attributes ni compact binary ga raastundi:
+ *
+ * 1. SecurityContext (OIDC login) → name, raw ID token, userinfo JSON, authority names, details
+ *    Decode lo {@link CompactOidcUser} - claims first access lo matrame parse
+ * 2. Authorized clients map → registrationId, raw access / refresh token strings, times, scopes
+ *    ClientRegistration serialize cheyyam - decode lo ClientRegistrationRepository nundi
+ * 3. Scope / authority / registrationId strings intern - sessions anni same copies share
+ * 4. Migathavi (CSRF token, saved request etc.) → Java serialization fallback (class allow-list tho)
+ *
+ * Format: first byte tag. Java serialization stream 0xAC tho start - so patha store lo unna values kuda chadavachu.
+ * Per-attribute-kind size histograms → /internal/stats (sessions per node ni idhe cap chestundi).
+ */
+public class CompactSessionCodec implements SessionAttributeCodec {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactSessionCodec.class);
+
+    private static final byte OIDC_SECURITY_CONTEXT = 1;
+    private static final byte AUTHORIZED_CLIENTS = 2;
+
+    private final ClientRegistrationRepository clientRegistrationRepository;
+    private final JavaSerializationCodec fallback;
+
+    private final SizeHistogram securityContextSizes = new SizeHistogram();
+    private final SizeHistogram authorizedClientsSizes = new SizeHistogram();
+    private final SizeHistogram otherSizes = new SizeHistogram();
+
+    public CompactSessionCodec(ClientRegistrationRepository clientRegistrationRepository, ClassLoader classLoader) {
+        this(clientRegistrationRepository, classLoader, List.of());
+    }
+
+    public CompactSessionCodec(ClientRegistrationRepository clientRegistrationRepository, ClassLoader classLoader,
+            List<String> extraAllowedClasses) {
+        this.clientRegistrationRepository = clientRegistrationRepository;
+        this.fallback = new JavaSerializationCodec(classLoader, extraAllowedClasses);
+    }
+
+    @Override
+    public byte[] encode(String name, Object value) {
+        byte[] bytes;
+        if (value instanceof SecurityContext context && isCompactable(context)) {
+            bytes = encodeSecurityContext(context);
+            securityContextSizes.record(bytes.length);
+        } else if (isAuthorizedClients(value)) {
+            @SuppressWarnings("unchecked")
+            Map<String, OAuth2AuthorizedClient> clients = (Map<String, OAuth2AuthorizedClient>) value;
+            bytes = encodeAuthorizedClients(clients);
+            authorizedClientsSizes.record(bytes.length);
+        } else {
+            bytes = fallback.encode(name, value);
+            otherSizes.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object decode(String name, byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty session attribute " + name);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            return switch (bytes[0]) {
+                case OIDC_SECURITY_CONTEXT -> decodeSecurityContext(in);
+                case AUTHORIZED_CLIENTS -> decodeAuthorizedClients(in);
+                default -> fallback.decode(name, bytes);
+            };
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Corrupt session attribute " + name, ex);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("securityContext", securityContextSizes.toMap());
+        stats.put("authorizedClients", authorizedClientsSizes.toMap());
+        stats.put("other", otherSizes.toMap());
+        return stats;
+    }
+
+    // ========== SecurityContext ==========
+
+    // Exact ga rebuild cheyagaligevi matrame - custom context / principal / details aithe Java fallback
+    private static boolean isCompactable(SecurityContext context) {
+        return context.getClass() == SecurityContextImpl.class
+                && context.getAuthentication() instanceof OAuth2AuthenticationToken token
+                && token.getPrincipal() instanceof OidcUser
+                && (token.getDetails() == null || token.getDetails().getClass() == WebAuthenticationDetails.class);
+    }
+
+    private static byte[] encodeSecurityContext(SecurityContext context) {
+        OAuth2AuthenticationToken token = (OAuth2AuthenticationToken) context.getAuthentication();
+        OidcUser user = (OidcUser) token.getPrincipal();
+        return write(OIDC_SECURITY_CONTEXT, out -> {
+            writeString(out, token.getAuthorizedClientRegistrationId());
+            writeString(out, user.getName());
+            writeString(out, user.getIdToken().getTokenValue());
+            if (user instanceof CompactOidcUser compact) {
+                writeString(out, compact.userInfoJson()); // parse cheyyakunda alane
+            } else {
+                writeString(out, user.getUserInfo() != null ? CompactOidcUser.writeJson(user.getUserInfo().getClaims())
+                        : null);
+            }
+            List<String> userAuthorities = authorityNames(user.getAuthorities());
+            List<String> tokenAuthorities = authorityNames(token.getAuthorities());
+            writeStrings(out, userAuthorities);
+            // Login lo mapper lekapote token authorities = user authorities - rendosari raayam
+            boolean sameAuthorities = tokenAuthorities.equals(userAuthorities);
+            out.writeBoolean(sameAuthorities);
+            if (!sameAuthorities) {
+                writeStrings(out, tokenAuthorities);
+            }
+            WebAuthenticationDetails details = (WebAuthenticationDetails) token.getDetails();
+            out.writeBoolean(details != null);
+            if (details != null) {
+                writeString(out, details.getRemoteAddress());
+                writeString(out, details.getSessionId());
+            }
+        });
+    }
+
+    private static SecurityContext decodeSecurityContext(DataInputStream in) throws IOException {
+        String registrationId = readString(in).intern();
+        String name = readString(in);
+        String idToken = readString(in);
+        String userInfoJson = readString(in);
+        // OidcUserAuthority kooda authority name tho SimpleGrantedAuthority ga - ID token malli copy avvakunda
+        CompactOidcUser user = new CompactOidcUser(name, idToken, userInfoJson, readAuthorities(in));
+        OAuth2AuthenticationToken token = new OAuth2AuthenticationToken(user,
+                in.readBoolean() ? user.getAuthorities() : readAuthorities(in), registrationId);
+        if (in.readBoolean()) {
+            token.setDetails(new WebAuthenticationDetails(readString(in), readString(in)));
+        }
+        return new SecurityContextImpl(token);
+    }
+
+    private static List<String> authorityNames(Iterable<? extends GrantedAuthority> authorities) {
+        List<String> names = new ArrayList<>();
+        for (GrantedAuthority authority : authorities) {
+            names.add(authority.getAuthority());
+        }
+        return names;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        writeVarInt(out, values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<GrantedAuthority> readAuthorities(DataInputStream in) throws IOException {
+        int count = readVarInt(in);
+        List<GrantedAuthority> authorities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            authorities.add(new SimpleGrantedAuthority(readString(in).intern()));
+        }
+        return authorities;
+    }
+
+    // ========== Authorized clients ==========
+
+    private static boolean isAuthorizedClients(Object value) {
+        if (!(value instanceof Map<?, ?> map) || map.isEmpty()) {
+            return false;
+        }
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String) || !(entry.getValue() instanceof OAuth2AuthorizedClient client)
+                    || client.getAccessToken().getTokenType() != OAuth2AccessToken.TokenType.BEARER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] encodeAuthorizedClients(Map<String, OAuth2AuthorizedClient> clients) {
+        return write(AUTHORIZED_CLIENTS, out -> {
+            writeVarInt(out, clients.size());
+            for (OAuth2AuthorizedClient client : clients.values()) {
+                writeString(out, client.getClientRegistration().getRegistrationId());
+                writeString(out, client.getPrincipalName());
+                OAuth2AccessToken accessToken = client.getAccessToken();
+                writeString(out, accessToken.getTokenValue());
+                writeInstant(out, accessToken.getIssuedAt());
+                writeInstant(out, accessToken.getExpiresAt());
+                writeVarInt(out, accessToken.getScopes().size());
+                for (String scope : accessToken.getScopes()) {
+                    writeString(out, scope);
+                }
+                OAuth2RefreshToken refreshToken = client.getRefreshToken();
+                out.writeBoolean(refreshToken != null);
+                if (refreshToken != null) {
+                    writeString(out, refreshToken.getTokenValue());
+                    writeInstant(out, refreshToken.getIssuedAt());
+                    writeInstant(out, refreshToken.getExpiresAt());
+                }
+            }
+        });
+    }
+
+    private Map<String, OAuth2AuthorizedClient> decodeAuthorizedClients(DataInputStream in) throws IOException {
+        int count = readVarInt(in);
+        Map<String, OAuth2AuthorizedClient> clients = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String registrationId = readString(in).intern();
+            String principalName = readString(in);
+            String accessTokenValue = readString(in);
+            Instant issuedAt = readInstant(in);
+            Instant expiresAt = readInstant(in);
+            int scopeCount = readVarInt(in);
+            Set<String> scopes = new LinkedHashSet<>(scopeCount * 2);
+            for (int s = 0; s < scopeCount; s++) {
+                scopes.add(readString(in).intern());
+            }
+            OAuth2RefreshToken refreshToken = in.readBoolean()
+                    ? new OAuth2RefreshToken(readString(in), readInstant(in), readInstant(in))
+                    : null;
+
+            ClientRegistration registration = clientRegistrationRepository.findByRegistrationId(registrationId);
+            if (registration == null) {
+                // Config nundi registration teesesaru - aa client drop, user malli authorize chestadu
+                log.debug("🗜️ Dropping stored client for unknown registration {}", registrationId);
+                continue;
+            }
+            OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                    accessTokenValue, issuedAt, expiresAt, scopes);
+            clients.put(registrationId, new OAuth2AuthorizedClient(registration, principalName, accessToken,
+                    refreshToken));
+        }
+        return clients;
+    }
+
+    // ========== Primitives ==========
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] write(byte tag, Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(tag);
+            writer.write(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    // null → length 0, "" → length 1 (length + 1 varint)
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length - 1), StandardCharsets.UTF_8);
+    }
+
+    // Epoch seconds - token times ki millis avasaram ledu
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        writeVarLong(out, instant != null ? instant.getEpochSecond() + 1 : 0);
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        return value == 0 ? null : Instant.ofEpochSecond(value - 1);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return Math.toIntExact(readVarLong(in));
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
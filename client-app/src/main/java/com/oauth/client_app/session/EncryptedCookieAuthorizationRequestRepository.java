@@ -0,0 +1,288 @@
+package com.oauth.client_app.session;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🍪 SESSION-FREE LOGIN START
+ *
+ * Mawa! Default ga /oauth2/authorization/google hit ayithe OAuth2AuthorizationRequest (state, nonce, PKCE verifier)
+ * kosam HttpSession create avtundi - bots / abandoned logins → thousands of orphan sessions.
+ *
+ * Ikkada aa request okka short-lived cookie lo:
+ * 1. Fields compact binary ga (authorizationRequestUri store cheyyam - build() malli generate chestundi)
+ * 2. AES-GCM tho encrypt - nonce / code_verifier browser ki kanipinchavu, tag tho tamper aithe reject (signed + encrypted)
+ * 3. issuedAt encrypted payload lopala - max-age daatina cookie replay chesina reject
+ * 4. Callback (/login/oauth2/code/google) lo state match aithe return + cookie delete
+ *
+ * Session login success tarvata matrame create. Key anni nodes ki same ivvali - appudu affinity avasaram ledu.
+ */
+@Component
+public class EncryptedCookieAuthorizationRequestRepository
+        implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    private static final Logger log = LoggerFactory.getLogger(EncryptedCookieAuthorizationRequestRepository.class);
+
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final String cookieName;
+    private final Duration maxAge;
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    private final LongAdder saved = new LongAdder();
+    private final LongAdder loaded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public EncryptedCookieAuthorizationRequestRepository(
+            @Value("${login-cookie.name:OAUTH2_AUTH_REQUEST}") String cookieName,
+            @Value("${login-cookie.max-age:5m}") Duration maxAge,
+            @Value("${login-cookie.key:}") String base64Key) {
+        this.cookieName = cookieName;
+        this.maxAge = maxAge;
+        this.key = new SecretKeySpec(resolveKey(base64Key), "AES");
+    }
+
+    private byte[] resolveKey(String base64Key) {
+        if (base64Key.isBlank()) {
+            byte[] generated = new byte[32];
+            random.nextBytes(generated);
+            log.warn("🔑 login-cookie.key not set - random key generated; login must finish on this node "
+                    + "(set the same key on all nodes to drop affinity)");
+            return generated;
+        }
+        byte[] decoded = Base64.getDecoder().decode(base64Key.trim());
+        if (decoded.length != 16 && decoded.length != 32) {
+            throw new IllegalArgumentException("login-cookie.key must be a base64 AES-128 or AES-256 key");
+        }
+        return decoded;
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+        OAuth2AuthorizationRequest authorizationRequest = read(request);
+        // Vere tab lo kotha login start aithe cookie overwrite - state match kaakapothe adi ee callback di kaadu
+        return authorizationRequest != null && state.equals(authorizationRequest.getState()) ? authorizationRequest
+                : null;
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest, HttpServletRequest request,
+            HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            writeCookie(request, response, "", Duration.ZERO);
+            return;
+        }
+        writeCookie(request, response, encrypt(serialize(authorizationRequest, Instant.now())), maxAge);
+        saved.increment();
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+            HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        if (authorizationRequest != null) {
+            // Single use - callback replay chesina cookie inka undadu
+            writeCookie(request, response, "", Duration.ZERO);
+            loaded.increment();
+        }
+        return authorizationRequest;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("saved", saved.sum());
+        stats.put("loaded", loaded.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("expired", expired.sum());
+        return stats;
+    }
+
+    // ========== Cookie ==========
+
+    private OAuth2AuthorizationRequest read(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return decode(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    private OAuth2AuthorizationRequest decode(String value) {
+        byte[] plain;
+        try {
+            plain = decrypt(value);
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            rejected.increment();
+            log.debug("🍪 Rejected tampered / foreign authorization request cookie: {}", ex.toString());
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(plain))) {
+            Instant issuedAt = Instant.ofEpochSecond(in.readLong());
+            if (issuedAt.plus(maxAge).isBefore(Instant.now())) {
+                expired.increment();
+                return null;
+            }
+            return OAuth2AuthorizationRequest.authorizationCode()
+                    .authorizationUri(readString(in))
+                    .clientId(readString(in))
+                    .redirectUri(readString(in))
+                    .state(readString(in))
+                    .scopes(readSet(in))
+                    .additionalParameters(readMap(in))
+                    .attributes(readMap(in))
+                    .build();
+        } catch (IOException ex) {
+            rejected.increment();
+            return null;
+        }
+    }
+
+    private void writeCookie(HttpServletRequest request, HttpServletResponse response, String value,
+            Duration cookieMaxAge) {
+        // Lax: Google nundi callback top-level GET redirect - adi cookie pampistundi, cross-site POST/iframe pampavu
+        ResponseCookie cookie = ResponseCookie.from(cookieName, value)
+                .path(request.getContextPath().isEmpty() ? "/" : request.getContextPath())
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .maxAge(cookieMaxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    // ========== AES-GCM ==========
+
+    // [version][iv][ciphertext + tag], cookie name AAD ga - vere cookie value ikkada paste chesina fail
+    private String encrypt(byte[] plain) {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(cookieName.getBytes(StandardCharsets.US_ASCII));
+            byte[] sealed = cipher.doFinal(plain);
+            byte[] out = new byte[1 + IV_LENGTH + sealed.length];
+            out[0] = VERSION;
+            System.arraycopy(iv, 0, out, 1, IV_LENGTH);
+            System.arraycopy(sealed, 0, out, 1 + IV_LENGTH, sealed.length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(out);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot encrypt authorization request cookie", ex);
+        }
+    }
+
+    private byte[] decrypt(String value) throws GeneralSecurityException {
+        byte[] in = Base64.getUrlDecoder().decode(value);
+        if (in.length < 1 + IV_LENGTH || in[0] != VERSION) {
+            throw new GeneralSecurityException("Unknown cookie format");
+        }
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, in, 1, IV_LENGTH));
+        cipher.updateAAD(cookieName.getBytes(StandardCharsets.US_ASCII));
+        return cipher.doFinal(in, 1 + IV_LENGTH, in.length - 1 - IV_LENGTH);
+    }
+
+    // ========== Binary form ==========
+
+    private static byte[] serialize(OAuth2AuthorizationRequest request, Instant issuedAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(issuedAt.getEpochSecond());
+            writeString(out, request.getAuthorizationUri());
+            writeString(out, request.getClientId());
+            writeString(out, request.getRedirectUri());
+            writeString(out, request.getState());
+            out.writeShort(request.getScopes().size());
+            for (String scope : request.getScopes()) {
+                writeString(out, scope);
+            }
+            writeMap(out, request.getAdditionalParameters());
+            writeMap(out, request.getAttributes());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Parameters / attributes (registration_id, nonce, code_verifier, code_challenge...) anni strings
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue() != null ? entry.getValue().toString() : null);
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Map<String, Object> map = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            map.put(readString(in), readString(in));
+        }
+        return map;
+    }
+
+    private static Set<String> readSet(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Set<String> set = new LinkedHashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            set.add(readString(in));
+        }
+        return set;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
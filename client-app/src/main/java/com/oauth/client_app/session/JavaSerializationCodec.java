@@ -0,0 +1,67 @@
+package com.oauth.client_app.session;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.util.List;
+
+// Default codec - SecurityContext, OAuth2AuthorizedClient anni Serializable, so plain Java serialization.
+// Store file nundi chadive bytes ki ObjectInputFilter allow-list - list lo leni class deserialize avvadu (gadget chains ledu)
+public class JavaSerializationCodec implements SessionAttributeCodec {
+
+    // Session lo unde values: Spring Security (context, CSRF token, saved request), JDK collections / time / strings,
+    // ID token iss claim java.net.URL
+    static final List<String> DEFAULT_ALLOWED = List.of(
+            "java.lang.*", "java.util.*", "java.util.concurrent.*", "java.time.*", "java.net.URL",
+            "org.springframework.security.**", "org.springframework.util.*", "com.oauth.client_app.**");
+
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer;
+
+    public JavaSerializationCodec(ClassLoader classLoader) {
+        this(classLoader, List.of());
+    }
+
+    /**
+     * @param extraAllowed additional {@link ObjectInputFilter.Config#createFilter} class patterns for custom attributes
+     */
+    public JavaSerializationCodec(ClassLoader classLoader, List<String> extraAllowed) {
+        ObjectInputFilter filter = filter(extraAllowed);
+        this.deserializer = new DeserializingConverter(in -> {
+            ObjectInputStream objects = new ConfigurableObjectInputStream(in, classLoader);
+            objects.setObjectInputFilter(filter);
+            try {
+                return objects.readObject();
+            } catch (ClassNotFoundException ex) {
+                throw new IOException("Failed to deserialize session attribute", ex);
+            }
+        });
+    }
+
+    static ObjectInputFilter filter(List<String> extraAllowed) {
+        StringBuilder pattern = new StringBuilder("maxdepth=64;maxrefs=100000;maxarray=1000000;");
+        for (String allowed : DEFAULT_ALLOWED) {
+            pattern.append(allowed).append(';');
+        }
+        for (String allowed : extraAllowed) {
+            if (!allowed.isBlank()) {
+                pattern.append(allowed.trim()).append(';');
+            }
+        }
+        return ObjectInputFilter.Config.createFilter(pattern.append("!*").toString());
+    }
+
+    @Override
+    public byte[] encode(String name, Object value) {
+        return serializer.convert(value);
+    }
+
+    @Override
+    public Object decode(String name, byte[] bytes) {
+        return deserializer.convert(bytes);
+    }
+}
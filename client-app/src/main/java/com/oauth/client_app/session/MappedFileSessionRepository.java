@@ -0,0 +1,679 @@
+package com.oauth.client_app.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 💾 MEMORY-MAPPED SESSION REPOSITORY
+ *
+ * Mawa! Default Tomcat sessions JVM heap lo - restart ayithe andaru logout, rendo node ki session teliyadu.
+ * Ee repository sessions ni {@link MappedSessionLog} (append-only mmap file) lo pedutundi:
+ *
+ * 1. Save lo changed attributes matrame (delta record) - request end lo okkasari (Spring Session commit)
+ * 2. Attribute values findById lo decode cheyyam - getAttribute adiginappude {@link SessionAttributeCodec} decode
+ * 3. Emi maarakapothe write ledu - lastAccessedTime kuda touch-interval ki okkasari matrame
+ * 4. Same host lo inko node same file open chesthe - tail daaka catch up ayyi aa sessions kuda chustundi
+ * 5. Background sweep: expired sessions delete, dead bytes ekkuva aithe compaction
+ * 6. Principal (OIDC sub) → session ids index - okka user sessions anni scan lekunda (mass logout / revoke)
+ *
+ * Spring Session {@link FindByIndexNameSessionRepository} SPI - network store (Redis etc.) kavali ante ee bean maarchadame.
+ */
+public class MappedFileSessionRepository
+        implements FindByIndexNameSessionRepository<MappedFileSessionRepository.StoredSession>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileSessionRepository.class);
+
+    private static final byte UPSERT = 1;
+    private static final byte DELETE = 2;
+    // Session principal maarindi (login) - UPSERT format maarchakunda separate record
+    private static final byte PRINCIPAL = 3;
+    private static final String SECURITY_CONTEXT_KEY = HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+    // Inthakante ekkuva delta records aithe next save full record raastundi - findById replay short ga
+    private static final int MAX_CHAIN_LENGTH = 8;
+    private static final long MIN_COMPACT_BYTES = 64 * 1024;
+
+    private final MappedSessionLog sessionLog;
+    private final SessionAttributeCodec codec;
+    private final Duration defaultMaxInactiveInterval;
+    private final Duration touchInterval;
+    private final double compactDeadRatio;
+    private final PrincipalNameIndexResolver<StoredSession> principalNameResolver = new PrincipalNameIndexResolver<>();
+
+    // Ivanni "this" monitor kindha - log offsets, index okesari maarali
+    private final Map<String, IndexEntry> index = new HashMap<>();
+    private long position = MappedSessionLog.HEADER_SIZE;
+    private long indexedGeneration;
+    private long liveBytes;
+
+    // Principal → session ids. Writes apply() / drop() lo ("this" kindha, records order lo), reads lock lekunda -
+    // okka user lookup ki global lock wait ledu, cost = aa user sessions count
+    private final Map<String, Set<String>> sessionsByPrincipal = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "session-store-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder touches = new LongAdder();
+    private final LongAdder skippedSaves = new LongAdder();
+    private final LongAdder decodedAttributes = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+    // Full record = okka session motham size (login, id change, chain compaction) - per-user footprint
+    private final SizeHistogram fullRecordSizes = new SizeHistogram();
+
+    public MappedFileSessionRepository(Path file, long initialFileSize, SessionAttributeCodec codec,
+            Duration defaultMaxInactiveInterval, Duration touchInterval, Duration sweepInterval,
+            double compactDeadRatio) throws IOException {
+        this.sessionLog = new MappedSessionLog(file, initialFileSize);
+        this.codec = codec;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.touchInterval = touchInterval;
+        this.compactDeadRatio = compactDeadRatio;
+        synchronized (this) {
+            catchUp();
+        }
+        log.info("💾 Session store {} - {} sessions loaded", file, index.size());
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval.toMillis(), sweepInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public StoredSession createSession() {
+        return new StoredSession(UUID.randomUUID().toString(), Instant.now(), defaultMaxInactiveInterval);
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        if (!session.needsWrite(touchInterval)) {
+            skippedSaves.increment();
+            return;
+        }
+        // Attribute encode (serialization) lock bayata - lock lo append matrame
+        Map<String, byte[]> changed = session.encodeChanged();
+        // Login / logout lo matrame security context dirty - appude principal resolve
+        boolean principalMayChange = session.dirty.contains(SECURITY_CONTEXT_KEY)
+                || session.dirty.contains(PRINCIPAL_NAME_INDEX_NAME);
+        String principal = principalMayChange ? principalNameResolver.resolveIndexValueFor(session) : null;
+        try {
+            synchronized (this) {
+                sessionLog.locked(() -> {
+                    catchUp();
+                    IndexEntry entry = index.get(session.originalId);
+                    boolean full = entry == null || !session.id.equals(session.originalId)
+                            || entry.offsets.size() >= MAX_CHAIN_LENGTH;
+                    Map<String, byte[]> attributes = changed;
+                    if (entry == null) {
+                        attributes = session.encodeAll(changed);
+                    } else if (full) {
+                        // Store lo unna current state + mana changes - vere node/thread raasina attributes overwrite avvavu
+                        Map<String, byte[]> merged = replay(entry);
+                        changed.forEach((name, bytes) -> {
+                            if (bytes == null) {
+                                merged.remove(name);
+                            } else {
+                                merged.put(name, bytes);
+                            }
+                        });
+                        attributes = merged;
+                    }
+                    byte[] payload = encodeUpsert(session, full, attributes);
+                    sessionLog.append(payload);
+                    if (full) {
+                        fullRecordSizes.record(payload.length);
+                    }
+                    appends.increment();
+                    if (attributes.isEmpty()) {
+                        touches.increment();
+                    }
+                    catchUp();
+                    IndexEntry saved = index.get(session.id);
+                    if (principalMayChange && saved != null && !Objects.equals(principal, saved.principal)) {
+                        sessionLog.append(encodePrincipal(session.id, principal));
+                        appends.increment();
+                        catchUp();
+                    }
+                    return null;
+                });
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not save session", ex);
+        }
+        session.markSaved();
+    }
+
+    @Override
+    public StoredSession findById(String id) {
+        synchronized (this) {
+            catchUpQuietly();
+            IndexEntry entry = index.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(Instant.now())) {
+                deleteById(id);
+                return null;
+            }
+            return new StoredSession(id, entry, replay(entry));
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        try {
+            synchronized (this) {
+                sessionLog.locked(() -> {
+                    catchUp();
+                    if (index.containsKey(id)) {
+                        sessionLog.append(encodeDelete(id));
+                        appends.increment();
+                        catchUp();
+                    }
+                    return null;
+                });
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not delete session", ex);
+        }
+    }
+
+    @Override
+    public Map<String, StoredSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Map.of();
+        }
+        Map<String, StoredSession> sessions = new HashMap<>();
+        for (String id : findSessionIds(indexValue)) {
+            StoredSession session = findById(id);
+            if (session != null) {
+                sessions.put(id, session);
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Ids of the live sessions whose principal is {@code principalName} - no attribute decoding, no full scan.
+     */
+    public Set<String> findSessionIds(String principalName) {
+        synchronized (this) {
+            catchUpQuietly(); // vere node lo ippude login ayina sessions kuda
+        }
+        Set<String> ids = sessionsByPrincipal.get(principalName);
+        return ids != null ? Set.copyOf(ids) : Set.of();
+    }
+
+    public synchronized Map<String, Object> stats() {
+        long used = sessionLog.tail() - MappedSessionLog.HEADER_SIZE;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", index.size());
+        stats.put("principals", sessionsByPrincipal.size());
+        stats.put("fileBytes", sessionLog.fileSize());
+        stats.put("liveBytes", liveBytes);
+        stats.put("deadBytes", used - liveBytes);
+        stats.put("appends", appends.sum());
+        stats.put("touches", touches.sum());
+        stats.put("skippedSaves", skippedSaves.sum());
+        stats.put("decodedAttributes", decodedAttributes.sum());
+        stats.put("compactions", compactions.sum());
+        stats.put("fullRecordBytes", fullRecordSizes.toMap());
+        return stats;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        sweeper.shutdownNow();
+        synchronized (this) {
+            sessionLog.close();
+        }
+    }
+
+    // ========== Sweep & compaction ==========
+
+    synchronized void sweep() {
+        try {
+            sessionLog.locked(() -> {
+                catchUp();
+                Instant now = Instant.now();
+                List<String> expired = index.entrySet().stream()
+                        .filter(e -> e.getValue().isExpired(now))
+                        .map(Map.Entry::getKey)
+                        .toList();
+                for (String id : expired) {
+                    sessionLog.append(encodeDelete(id));
+                    appends.increment();
+                }
+                catchUp();
+                long dead = sessionLog.tail() - MappedSessionLog.HEADER_SIZE - liveBytes;
+                if (dead >= MIN_COMPACT_BYTES && dead > compactDeadRatio * (dead + liveBytes)) {
+                    compact(dead);
+                }
+                if (!expired.isEmpty()) {
+                    log.debug("🧹 Swept {} expired sessions", expired.size());
+                }
+                return null;
+            });
+        } catch (IOException | RuntimeException ex) {
+            log.warn("⚠️ Session store sweep failed: {}", ex.getMessage());
+        }
+    }
+
+    // Prathi live session chain ni okka full record ga merge chesi kotha file lo - attributes decode cheyyam
+    private void compact(long deadBytes) throws IOException {
+        List<byte[]> payloads = new ArrayList<>(index.size());
+        for (Map.Entry<String, IndexEntry> e : index.entrySet()) {
+            IndexEntry entry = e.getValue();
+            payloads.add(encodeUpsert(e.getKey(), null, entry.creationTime, entry.lastAccessedTime,
+                    entry.maxInactiveSeconds, true, replay(entry)));
+            if (entry.principal != null) {
+                payloads.add(encodePrincipal(e.getKey(), entry.principal));
+            }
+        }
+        sessionLog.compactTo(payloads);
+        catchUp();
+        compactions.increment();
+        log.info("🗜️ Compacted session store - {} sessions kept, {} dead bytes dropped", index.size(), deadBytes);
+    }
+
+    // ========== Index ==========
+
+    // Vere node raasina records (leda compaction tarvata kotha file) index lo apply
+    private void catchUp() throws IOException {
+        sessionLog.reopenIfRetired();
+        if (sessionLog.generation() != indexedGeneration) {
+            index.clear();
+            sessionsByPrincipal.clear();
+            liveBytes = 0;
+            position = MappedSessionLog.HEADER_SIZE;
+            indexedGeneration = sessionLog.generation();
+        }
+        position = sessionLog.scan(position, this::apply);
+    }
+
+    private void catchUpQuietly() {
+        try {
+            catchUp();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void apply(byte[] payload, long offset) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte type = in.readByte();
+            String id = in.readUTF();
+            if (type == DELETE) {
+                drop(id);
+                return;
+            }
+            if (type == PRINCIPAL) {
+                String principal = in.readUTF();
+                IndexEntry entry = index.get(id);
+                if (entry != null) {
+                    unindexPrincipal(id, entry);
+                    entry.principal = principal.isEmpty() ? null : principal;
+                    indexPrincipal(id, entry);
+                    int frame = MappedSessionLog.frameSize(payload);
+                    entry.bytes += frame;
+                    liveBytes += frame;
+                }
+                return;
+            }
+            String previousId = in.readUTF();
+            long creationTime = in.readLong();
+            long lastAccessedTime = in.readLong();
+            int maxInactiveSeconds = in.readInt();
+            boolean full = in.readBoolean();
+
+            // Full record / id change tarvata kuda principal same - PRINCIPAL record malli raayam
+            String principal = null;
+            if (!previousId.isEmpty()) {
+                IndexEntry previous = index.get(previousId);
+                principal = previous != null ? previous.principal : null;
+                drop(previousId); // changeSessionId - patha id invalid
+            }
+            IndexEntry entry = full ? null : index.get(id);
+            if (entry == null) {
+                IndexEntry replaced = index.get(id);
+                if (replaced != null && principal == null) {
+                    principal = replaced.principal;
+                }
+                drop(id);
+                entry = new IndexEntry();
+                entry.principal = principal;
+                index.put(id, entry);
+                indexPrincipal(id, entry);
+            }
+            entry.creationTime = creationTime;
+            entry.lastAccessedTime = lastAccessedTime;
+            entry.maxInactiveSeconds = maxInactiveSeconds;
+            entry.offsets.add(offset);
+            int frame = MappedSessionLog.frameSize(payload);
+            entry.bytes += frame;
+            liveBytes += frame;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void drop(String id) {
+        IndexEntry removed = index.remove(id);
+        if (removed != null) {
+            liveBytes -= removed.bytes;
+            unindexPrincipal(id, removed);
+        }
+    }
+
+    private void indexPrincipal(String id, IndexEntry entry) {
+        if (entry.principal != null) {
+            sessionsByPrincipal.computeIfAbsent(entry.principal, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    // Empty set map lo undakudadu - computeIfPresent atomic ga remove
+    private void unindexPrincipal(String id, IndexEntry entry) {
+        if (entry.principal != null) {
+            sessionsByPrincipal.computeIfPresent(entry.principal, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    // Full record + deltas apply chesi current raw attributes (encoded bytes)
+    private Map<String, byte[]> replay(IndexEntry entry) {
+        Map<String, byte[]> attributes = new HashMap<>();
+        for (long offset : entry.offsets) {
+            byte[] payload = sessionLog.read(offset);
+            if (payload == null) {
+                throw new IllegalStateException("Session record at " + offset + " is corrupt");
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                in.readByte();
+                in.readUTF();
+                in.readUTF();
+                in.skipBytes(8 + 8 + 4 + 1);
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String name = in.readUTF();
+                    int length = in.readInt();
+                    if (length < 0) {
+                        attributes.remove(name);
+                    } else {
+                        attributes.put(name, in.readNBytes(length));
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return attributes;
+    }
+
+    private static final class IndexEntry {
+
+        long creationTime;
+        long lastAccessedTime;
+        int maxInactiveSeconds;
+        String principal;
+        final List<Long> offsets = new ArrayList<>(2);
+        long bytes;
+
+        boolean isExpired(Instant now) {
+            return maxInactiveSeconds >= 0
+                    && Instant.ofEpochMilli(lastAccessedTime).plusSeconds(maxInactiveSeconds).isBefore(now);
+        }
+    }
+
+    // ========== Record encoding ==========
+    // UPSERT: type, id, previousId, creation, lastAccessed, maxInactive, full, count, (name, length | -1, bytes)*
+    // DELETE: type, id
+    // PRINCIPAL: type, id, principal name ("" = none)
+
+    private static byte[] encodeUpsert(StoredSession session, boolean full, Map<String, byte[]> attributes) {
+        String previousId = session.id.equals(session.originalId) ? null : session.originalId;
+        return encodeUpsert(session.id, previousId, session.creationTime.toEpochMilli(),
+                session.lastAccessedTime.toEpochMilli(), (int) session.maxInactiveInterval.toSeconds(), full,
+                attributes);
+    }
+
+    private static byte[] encodeUpsert(String id, String previousId, long creationTime, long lastAccessedTime,
+            int maxInactiveSeconds, boolean full, Map<String, byte[]> attributes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(UPSERT);
+            out.writeUTF(id);
+            out.writeUTF(previousId != null ? previousId : "");
+            out.writeLong(creationTime);
+            out.writeLong(lastAccessedTime);
+            out.writeInt(maxInactiveSeconds);
+            out.writeBoolean(full);
+            out.writeInt(attributes.size());
+            for (Map.Entry<String, byte[]> attribute : attributes.entrySet()) {
+                out.writeUTF(attribute.getKey());
+                if (attribute.getValue() == null) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(attribute.getValue().length);
+                    out.write(attribute.getValue());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodePrincipal(String id, String principal) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PRINCIPAL);
+            out.writeUTF(id);
+            out.writeUTF(principal != null ? principal : "");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeDelete(String id) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(DELETE);
+            out.writeUTF(id);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    // ========== Session ==========
+
+    /**
+     * Session backed by the mapped file. Attribute values stay encoded until first read; only attributes set or
+     * removed since load are written back.
+     */
+    public final class StoredSession implements Session {
+
+        private String id;
+        private String originalId;
+        private final Instant creationTime;
+        private Instant lastAccessedTime;
+        private Instant persistedLastAccessedTime;
+        private Duration maxInactiveInterval;
+        private boolean isNew;
+        private boolean metadataChanged;
+
+        private final Map<String, byte[]> encoded;
+        private final Map<String, Object> decoded = new HashMap<>();
+        private final Set<String> dirty = new HashSet<>();
+
+        StoredSession(String id, Instant now, Duration maxInactiveInterval) {
+            this.id = id;
+            this.originalId = id;
+            this.creationTime = now;
+            this.lastAccessedTime = now;
+            this.persistedLastAccessedTime = now;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.isNew = true;
+            this.encoded = new HashMap<>();
+        }
+
+        StoredSession(String id, IndexEntry entry, Map<String, byte[]> encoded) {
+            this.id = id;
+            this.originalId = id;
+            this.creationTime = Instant.ofEpochMilli(entry.creationTime);
+            this.lastAccessedTime = Instant.ofEpochMilli(entry.lastAccessedTime);
+            this.persistedLastAccessedTime = lastAccessedTime;
+            this.maxInactiveInterval = Duration.ofSeconds(entry.maxInactiveSeconds);
+            this.encoded = encoded;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String changeSessionId() {
+            id = UUID.randomUUID().toString();
+            return id;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(String attributeName) {
+            Object value = decoded.get(attributeName);
+            if (value == null) {
+                byte[] bytes = encoded.remove(attributeName);
+                if (bytes != null) {
+                    value = codec.decode(attributeName, bytes);
+                    decoded.put(attributeName, value);
+                    decodedAttributes.increment();
+                }
+            }
+            return (T) value;
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            Set<String> names = new HashSet<>(encoded.keySet());
+            names.addAll(decoded.keySet());
+            return names;
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            if (attributeValue == null) {
+                removeAttribute(attributeName);
+                return;
+            }
+            encoded.remove(attributeName);
+            decoded.put(attributeName, attributeValue);
+            dirty.add(attributeName);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            encoded.remove(attributeName);
+            decoded.remove(attributeName);
+            dirty.add(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            this.lastAccessedTime = lastAccessedTime;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            this.maxInactiveInterval = interval;
+            this.metadataChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return maxInactiveInterval;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return !maxInactiveInterval.isNegative()
+                    && lastAccessedTime.plus(maxInactiveInterval).isBefore(Instant.now());
+        }
+
+        boolean needsWrite(Duration touchInterval) {
+            return isNew || metadataChanged || !dirty.isEmpty() || !id.equals(originalId)
+                    || !lastAccessedTime.isBefore(persistedLastAccessedTime.plus(touchInterval));
+        }
+
+        // Dirty attributes matrame - removed aithe null (record lo -1)
+        Map<String, byte[]> encodeChanged() {
+            Map<String, byte[]> changed = new HashMap<>();
+            for (String name : dirty) {
+                Object value = decoded.get(name);
+                changed.put(name, value != null ? codec.encode(name, value) : null);
+            }
+            return changed;
+        }
+
+        // Full record: decode avvani attributes bytes alane, decoded vi encode (changed lo unte reuse)
+        Map<String, byte[]> encodeAll(Map<String, byte[]> changed) {
+            Map<String, byte[]> all = new HashMap<>(encoded);
+            for (Map.Entry<String, Object> attribute : decoded.entrySet()) {
+                byte[] bytes = changed.get(attribute.getKey());
+                all.put(attribute.getKey(), bytes != null ? bytes : codec.encode(attribute.getKey(),
+                        attribute.getValue()));
+            }
+            return all;
+        }
+
+        void markSaved() {
+            isNew = false;
+            metadataChanged = false;
+            originalId = id;
+            persistedLastAccessedTime = lastAccessedTime;
+            dirty.clear();
+        }
+    }
+}
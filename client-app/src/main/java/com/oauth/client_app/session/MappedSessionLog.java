@@ -0,0 +1,308 @@
+package com.oauth.client_app.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 📜 MEMORY-MAPPED APPEND LOG
+ *
+ * Session records ki append-only file - same host lo unna anni client-app nodes share chestayi.
+ *
+ * Layout:
+ * - Header (64 bytes): magic, version, tail (next write position), retired flag
+ * - Records: [int length][int crc32c][payload] - tail daaka matrame valid
+ *
+ * Writers: JVM lo synchronized + process la madhya FileLock. Record raasi, tarvata tail update -
+ * crash madhyalo aithe tail patha position lone untundi, half record evariki kanipinchadu.
+ * OS crash lo tail disk ki vellindi kani madhyalo frame pages vellakapothe - open lo tail ni aa bad frame ki
+ * venakki, lekapote tarvata append chesinavi scan ki eppudu kanipinchavu.
+ * Compaction kotha file raasi atomic rename chestundi, patha file ni "retired" ani mark chestundi -
+ * migatha nodes adi chusi kotha file reopen chestayi.
+ *
+ * File lo raw Google tokens untayi - POSIX lo directory 0700, file 0600 (ee process user matrame).
+ * Directory / file vere user di aithe start avvadu - shared /tmp lo evaro mundu create chesi records pettakunda.
+ */
+final class MappedSessionLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedSessionLog.class);
+
+    static final int HEADER_SIZE = 64;
+    private static final int MAGIC = 0x53455353; // "SESS"
+    private static final int VERSION = 1;
+    private static final int TAIL_OFFSET = 8;
+    private static final int RETIRED_OFFSET = 16;
+    private static final int FRAME_HEADER = 8;
+    private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+    private static final Set<PosixFilePermission> DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    private final Path path;
+    private final long initialSize;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long generation;
+
+    MappedSessionLog(Path path, long initialSize) throws IOException {
+        this.path = path;
+        this.initialSize = Math.max(HEADER_SIZE * 2, initialSize);
+        open();
+    }
+
+    /**
+     * Appends one record and returns its offset. Only inside {@link #locked}.
+     */
+    long append(byte[] payload) throws IOException {
+        long tail = tail();
+        long end = tail + FRAME_HEADER + payload.length;
+        ensureCapacity(end);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.putInt((int) tail, payload.length);
+        buffer.putInt((int) tail + 4, (int) crc.getValue());
+        buffer.put((int) tail + FRAME_HEADER, payload);
+        // Record first, tail last - readers never see a half-written record
+        buffer.putLong(TAIL_OFFSET, end);
+        return tail;
+    }
+
+    /**
+     * Reads records from {@code from} up to the current tail; returns the position after the last valid record.
+     */
+    long scan(long from, ObjLongConsumer<byte[]> consumer) {
+        long position = Math.max(from, HEADER_SIZE);
+        long tail = tail();
+        remapIfGrown(tail);
+        while (position + FRAME_HEADER <= tail) {
+            byte[] payload = read(position);
+            if (payload == null) {
+                break; // corrupt frame - stop here, everything after is unreachable
+            }
+            consumer.accept(payload, position);
+            position += FRAME_HEADER + payload.length;
+        }
+        return position;
+    }
+
+    byte[] read(long offset) {
+        remapIfGrown(offset + FRAME_HEADER);
+        int length = buffer.getInt((int) offset);
+        if (length < 0 || offset + FRAME_HEADER + length > tail()) {
+            return null;
+        }
+        remapIfGrown(offset + FRAME_HEADER + length);
+        byte[] payload = new byte[length];
+        buffer.get((int) offset + FRAME_HEADER, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt((int) offset + 4) ? payload : null;
+    }
+
+    static int frameSize(byte[] payload) {
+        return FRAME_HEADER + payload.length;
+    }
+
+    long tail() {
+        return buffer.getLong(TAIL_OFFSET);
+    }
+
+    long fileSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * True once another process (or this one) compacted the file into a new one.
+     */
+    boolean isRetired() {
+        return buffer.getInt(RETIRED_OFFSET) != 0;
+    }
+
+    /**
+     * Increments every time this instance (re)opens the file - record offsets from an older generation are stale.
+     */
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * Runs {@code action} holding the cross-process file lock, on the current (non-retired) file.
+     * Callers synchronize in-JVM themselves.
+     */
+    <T> T locked(LockedAction<T> action) throws IOException {
+        while (true) {
+            FileLock lock = channel.lock(0, HEADER_SIZE, false);
+            try {
+                if (!isRetired()) {
+                    return action.run();
+                }
+            } finally {
+                // Compaction channel close chesthe lock already release ayindi
+                if (lock.isValid()) {
+                    lock.release();
+                }
+            }
+            reopen();
+        }
+    }
+
+    /**
+     * Switches to the current file if another node compacted this one away; returns true if it did.
+     */
+    boolean reopenIfRetired() throws IOException {
+        if (!isRetired()) {
+            return false;
+        }
+        reopen();
+        return true;
+    }
+
+    @FunctionalInterface
+    interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    private void reopen() throws IOException {
+        close();
+        open();
+    }
+
+    /**
+     * Writes the given payloads into a fresh file, retires this one and swaps the new file in.
+     * Only inside {@link #locked}; the lock is released when the old channel closes.
+     */
+    void compactTo(Iterable<byte[]> livePayloads) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(temp);
+        try (MappedSessionLog fresh = new MappedSessionLog(temp, initialSize)) {
+            for (byte[] payload : livePayloads) {
+                fresh.append(payload);
+            }
+            fresh.buffer.force();
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // Patha file handles unna nodes ki signal - "kotha file open cheyyandi"
+        buffer.putInt(RETIRED_OFFSET, 1);
+        reopen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    // ========== Internals ==========
+
+    private void open() throws IOException {
+        generation++;
+        boolean posix = path.getFileSystem().supportedFileAttributeViews().contains("posix");
+        Path directory = path.toAbsolutePath().getParent();
+        if (posix) {
+            if (Files.notExists(directory)) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(DIRECTORY_PERMISSIONS));
+            }
+            ensurePrivate(directory, DIRECTORY_PERMISSIONS);
+        } else {
+            Files.createDirectories(directory);
+        }
+        FileAttribute<?>[] attributes = posix
+                ? new FileAttribute<?>[] { PosixFilePermissions.asFileAttribute(FILE_PERMISSIONS) }
+                : new FileAttribute<?>[0];
+        channel = FileChannel.open(path, Set.of(StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE), attributes);
+        if (posix) {
+            try {
+                ensurePrivate(path, FILE_PERMISSIONS);
+            } catch (IOException ex) {
+                channel.close();
+                throw ex;
+            }
+        }
+        try (FileLock ignored = channel.lock(0, HEADER_SIZE, false)) {
+            if (channel.size() < HEADER_SIZE) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, initialSize);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putLong(TAIL_OFFSET, HEADER_SIZE);
+                buffer.putInt(RETIRED_OFFSET, 0);
+            } else {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    throw new IOException("Not a session log: " + path);
+                }
+                truncateAtCorruptFrame();
+            }
+        }
+    }
+
+    // File lock lo matrame - valid frames tarvata tail, so next append corrupt frame meeda raastundi, daani venaka kaadu
+    private void truncateAtCorruptFrame() {
+        // Header kuda torn aithe file bounds lopaliki
+        long tail = Math.clamp(tail(), HEADER_SIZE, buffer.capacity());
+        buffer.putLong(TAIL_OFFSET, tail);
+        long valid = scan(HEADER_SIZE, (payload, offset) -> { });
+        if (valid < tail) {
+            log.warn("⚠️ Session store {} corrupt at offset {} - dropping {} bytes after it", path, valid, tail - valid);
+            buffer.putLong(TAIL_OFFSET, valid);
+            buffer.force();
+        }
+    }
+
+    // Mana user di kaakapothe refuse; manadi aithe permissions tighten (patha versions 0755 / 0644 tho create chesayi)
+    private static void ensurePrivate(Path target, Set<PosixFilePermission> permissions) throws IOException {
+        UserPrincipal owner = Files.getOwner(target);
+        UserPrincipal self = target.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!owner.equals(self)) {
+            throw new IOException("Refusing session store " + target + ": owned by " + owner.getName()
+                    + ", not " + self.getName());
+        }
+        if (!Files.getPosixFilePermissions(target).equals(permissions)) {
+            Files.setPosixFilePermissions(target, permissions);
+        }
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > MAX_FILE_SIZE) {
+            throw new IOException("Session log full (" + MAX_FILE_SIZE + " bytes) - compaction is not keeping up");
+        }
+        long size = buffer.capacity();
+        while (size < required) {
+            size = Math.min(MAX_FILE_SIZE, size * 2);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    // Vere node file ni grow cheste, mana mapping kuda perugali
+    private void remapIfGrown(long required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(MAX_FILE_SIZE, channel.size()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.oauth.client_app.session;
+
+/**
+ * Turns one session attribute value into bytes for the session store and back.
+ *
+ * Store ki attribute format teliyadu - codec maarchi (compact binary, encryption...) store touch cheyyakunda.
+ */
+public interface SessionAttributeCodec {
+
+    byte[] encode(String name, Object value);
+
+    Object decode(String name, byte[] bytes);
+}
@@ -0,0 +1,51 @@
+package com.oauth.client_app.session;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Serialized size distribution - power-of-two buckets (≤256B, ≤512B ... >64KB), lock-free
+final class SizeHistogram {
+
+    private static final int SMALLEST_BUCKET_SHIFT = 8;
+    private static final int BUCKETS = 10;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalBytes = new LongAdder();
+    private final LongAccumulator maxBytes = new LongAccumulator(Math::max, 0);
+
+    SizeHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(int bytes) {
+        int bucket = Math.max(0, 32 - Integer.numberOfLeadingZeros(Math.max(0, bytes - 1)) - SMALLEST_BUCKET_SHIFT);
+        buckets[Math.min(bucket, BUCKETS - 1)].increment();
+        count.increment();
+        totalBytes.add(bytes);
+        maxBytes.accumulate(bytes);
+    }
+
+    Map<String, Object> toMap() {
+        long samples = count.sum();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", samples);
+        map.put("avgBytes", samples > 0 ? totalBytes.sum() / samples : 0);
+        map.put("maxBytes", maxBytes.get());
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            histogram.put("<=" + label(1L << (SMALLEST_BUCKET_SHIFT + i)), buckets[i].sum());
+        }
+        histogram.put(">" + label(1L << (SMALLEST_BUCKET_SHIFT + BUCKETS - 2)), buckets[BUCKETS - 1].sum());
+        map.put("histogram", histogram);
+        return map;
+    }
+
+    private static String label(long bytes) {
+        return bytes >= 1024 ? (bytes / 1024) + "KB" : bytes + "B";
+    }
+}
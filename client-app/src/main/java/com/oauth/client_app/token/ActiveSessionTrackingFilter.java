@@ -0,0 +1,41 @@
+package com.oauth.client_app.token;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Security filter chain tarvata run avtundi - logged-in session ni refresh-ahead scheduler ki register
+@Component
+public class ActiveSessionTrackingFilter extends OncePerRequestFilter {
+
+    private final TokenRefreshScheduler tokenRefreshScheduler;
+    private final OAuth2AuthorizedClientRepository authorizedClientRepository;
+
+    public ActiveSessionTrackingFilter(TokenRefreshScheduler tokenRefreshScheduler,
+            OAuth2AuthorizedClientRepository authorizedClientRepository) {
+        this.tokenRefreshScheduler = tokenRefreshScheduler;
+        this.authorizedClientRepository = authorizedClientRepository;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        if (session != null
+                && SecurityContextHolder.getContext().getAuthentication() instanceof OAuth2AuthenticationToken token
+                && !tokenRefreshScheduler.isTracked(session.getId())) {
+            tokenRefreshScheduler.track(session.getId(), token, authorizedClientRepository
+                    .loadAuthorizedClient(token.getAuthorizedClientRegistrationId(), token, request));
+        }
+        chain.doFilter(request, response);
+    }
+}
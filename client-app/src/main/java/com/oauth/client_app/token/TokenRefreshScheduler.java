@@ -0,0 +1,343 @@
+package com.oauth.client_app.token;
+
+import com.oauth.client_app.events.SessionEventHub;
+import com.oauth.client_app.login.IdTokenDecoders;
+import com.oauth.client_app.metrics.FlowMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2RefreshTokenGrantRequest;
+import org.springframework.security.oauth2.client.endpoint.RestClientRefreshTokenTokenResponseClient;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.web.HttpSessionOAuth2AuthorizedClientRepository;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🔄 REFRESH-AHEAD TOKEN SCHEDULER
+ *
+ * Mawa! Google ID token 1 hour lo expire. Expire ayyaka request lo refresh chesthe
+ * user aa request lo Google round trip wait chestadu. Instead:
+ *
+ * 1. Active sessions ni track chestam (ActiveSessionTrackingFilter register chestundi)
+ * 2. exp - margin - random(spread) ki refresh schedule - 1000 sessions okesari Google ni kottavu
+ * 3. Refresh bounded worker pool lo - queue full aithe konchem tarvata retry, request thread eppudu wait cheyadu
+ * 4. Kotha access token + ID token → SessionRepository lo session ki (changed attributes matrame save)
+ *
+ * Refresh token lekapote (Google ki access_type=offline kavali) aa session track cheyyam.
+ * Session id tho matrame track - session object pattukoledu, prathi refresh store nundi fresh ga load.
+ */
+@Component
+public class TokenRefreshScheduler implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRefreshScheduler.class);
+
+    private static final String SECURITY_CONTEXT_KEY = HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+    // HttpSessionOAuth2AuthorizedClientRepository vaade attribute (registrationId → client map)
+    private static final String AUTHORIZED_CLIENTS_KEY =
+            HttpSessionOAuth2AuthorizedClientRepository.class.getName() + ".AUTHORIZED_CLIENTS";
+
+    private final SessionRepository<? extends Session> sessionRepository;
+    private final FlowMetrics metrics;
+    private final OAuth2AccessTokenResponseClient<OAuth2RefreshTokenGrantRequest> tokenResponseClient =
+            new RestClientRefreshTokenTokenResponseClient();
+    // Login decoders tho same prewarmed JWKS
+    private final IdTokenDecoders idTokenDecoders;
+    // Open SSE tabs ki kotha expiry push
+    private final SessionEventHub sessionEvents;
+
+    private final Duration margin;
+    private final Duration spread;
+    private final Duration retryDelay;
+
+    // Session id → tracked session (id maarithe patha entry next refresh lo drop, kotha id next request lo track)
+    private final Map<String, TrackedSession> sessions = new ConcurrentHashMap<>();
+
+    // Timer thread matrame - actual refresh workers lo
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "token-refresh-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadPoolExecutor workers;
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenRefreshScheduler(SessionRepository<? extends Session> sessionRepository, FlowMetrics metrics,
+            IdTokenDecoders idTokenDecoders, SessionEventHub sessionEvents,
+            @Value("${token-refresh.margin:5m}") Duration margin,
+            @Value("${token-refresh.spread:2m}") Duration spread,
+            @Value("${token-refresh.retry-delay:30s}") Duration retryDelay,
+            @Value("${token-refresh.workers:4}") int workerCount,
+            @Value("${token-refresh.max-queued:1000}") int maxQueued) {
+        this.sessionRepository = sessionRepository;
+        this.metrics = metrics;
+        this.idTokenDecoders = idTokenDecoders;
+        this.sessionEvents = sessionEvents;
+        this.margin = margin;
+        this.spread = spread;
+        this.retryDelay = retryDelay;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), r -> {
+                    Thread thread = new Thread(r, "token-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Starts tracking this session with its authorized client (skipped if there is no refresh token).
+     */
+    public void track(String sessionId, OAuth2AuthenticationToken authentication, OAuth2AuthorizedClient client) {
+        if (sessions.containsKey(sessionId)) {
+            return;
+        }
+        if (client == null || client.getRefreshToken() == null) {
+            return; // refresh cheyalem - request time lo normal expiry handling
+        }
+        TrackedSession tracked = new TrackedSession(sessionId);
+        if (sessions.putIfAbsent(sessionId, tracked) == null) {
+            schedule(tracked, tokenExpiry(client, authentication));
+            log.debug("🔄 Tracking session for {} - refresh-ahead enabled", authentication.getName());
+        }
+    }
+
+    public boolean isTracked(String sessionId) {
+        return sessions.containsKey(sessionId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedSessions", sessions.size());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("failures", failures.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("queued", workers.getQueue().size());
+        stats.put("activeWorkers", workers.getActiveCount());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // ========== Scheduling ==========
+
+    // refreshAt = exp - margin - random(0, spread) → same time login ayina sessions kuda spread avtayi
+    private void schedule(TrackedSession tracked, Instant expiresAt) {
+        long spreadMillis = spread.toMillis() > 0 ? ThreadLocalRandom.current().nextLong(spread.toMillis()) : 0;
+        Instant refreshAt = expiresAt.minus(margin).minusMillis(spreadMillis);
+        long delay = Math.max(0, Duration.between(Instant.now(), refreshAt).toMillis());
+        scheduleIn(tracked, delay);
+    }
+
+    private void scheduleIn(TrackedSession tracked, long delayMillis) {
+        try {
+            tracked.next = timer.schedule(() -> submit(tracked), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException shuttingDown) {
+            // Context close avtundi - inka schedule cheyyam
+        }
+    }
+
+    private void submit(TrackedSession tracked) {
+        try {
+            workers.execute(() -> refresh(tracked));
+        } catch (RejectedExecutionException queueFull) {
+            rejected.increment();
+            scheduleIn(tracked, retryDelay.toMillis());
+        }
+    }
+
+    // ========== Refresh ==========
+
+    private void refresh(TrackedSession tracked) {
+        refresh(tracked, sessionRepository);
+    }
+
+    private <S extends Session> void refresh(TrackedSession tracked, SessionRepository<S> repository) {
+        S session;
+        try {
+            session = repository.findById(tracked.sessionId);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("⚠️ Could not load session for refresh: {} - retrying", ex.getMessage());
+            scheduleIn(tracked, retryDelay.toMillis());
+            return;
+        }
+        SecurityContext context = session != null ? session.getAttribute(SECURITY_CONTEXT_KEY) : null;
+        if (context == null || !(context.getAuthentication() instanceof OAuth2AuthenticationToken authentication)) {
+            untrack(tracked); // logout / expire / session id maarindi
+            return;
+        }
+
+        String registrationId = authentication.getAuthorizedClientRegistrationId();
+        Map<String, OAuth2AuthorizedClient> authorizedClients = session.getAttribute(AUTHORIZED_CLIENTS_KEY);
+        OAuth2AuthorizedClient client = authorizedClients != null ? authorizedClients.get(registrationId) : null;
+        if (client == null || client.getRefreshToken() == null) {
+            untrack(tracked);
+            return;
+        }
+
+        OAuth2AccessTokenResponse tokenResponse;
+        try {
+            tokenResponse = metrics.time(FlowMetrics.Phase.TOKEN_REFRESH,
+                    () -> tokenResponseClient.getTokenResponse(new OAuth2RefreshTokenGrantRequest(
+                            client.getClientRegistration(), client.getAccessToken(), client.getRefreshToken())));
+        } catch (OAuth2AuthorizationException ex) {
+            failures.increment();
+            if (OAuth2ErrorCodes.INVALID_GRANT.equals(ex.getError().getErrorCode())) {
+                log.info("🔄 Refresh token for {} was revoked - stopping refresh-ahead", authentication.getName());
+                untrack(tracked);
+            } else {
+                log.warn("⚠️ Token refresh for {} failed: {} - retrying", authentication.getName(), ex.getMessage());
+                scheduleIn(tracked, retryDelay.toMillis());
+            }
+            return;
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("⚠️ Token refresh for {} failed: {} - retrying", authentication.getName(), ex.getMessage());
+            scheduleIn(tracked, retryDelay.toMillis());
+            return;
+        }
+
+        // Google refresh response lo kotha refresh token raadu - patha dhi continue
+        OAuth2RefreshToken refreshToken = tokenResponse.getRefreshToken() != null ? tokenResponse.getRefreshToken()
+                : client.getRefreshToken();
+        OAuth2AuthorizedClient refreshed = new OAuth2AuthorizedClient(client.getClientRegistration(),
+                client.getPrincipalName(), tokenResponse.getAccessToken(), refreshToken);
+
+        OAuth2AuthenticationToken updatedAuthentication = authentication;
+        Object idTokenValue = tokenResponse.getAdditionalParameters().get(OidcParameterNames.ID_TOKEN);
+        if (idTokenValue instanceof String rawIdToken && authentication.getPrincipal() instanceof OidcUser oidcUser) {
+            updatedAuthentication = withNewIdToken(authentication, oidcUser, client.getClientRegistration(),
+                    rawIdToken);
+            if (updatedAuthentication == null) {
+                failures.increment();
+                untrack(tracked);
+                return;
+            }
+        }
+
+        Map<String, OAuth2AuthorizedClient> updatedClients = new HashMap<>(authorizedClients);
+        updatedClients.put(registrationId, refreshed);
+        session.setAttribute(AUTHORIZED_CLIENTS_KEY, updatedClients);
+        if (updatedAuthentication != authentication) {
+            SecurityContext updatedContext = SecurityContextHolder.createEmptyContext();
+            updatedContext.setAuthentication(updatedAuthentication);
+            session.setAttribute(SECURITY_CONTEXT_KEY, updatedContext);
+        }
+        try {
+            repository.save(session);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("⚠️ Could not save refreshed tokens for {}: {} - retrying", authentication.getName(),
+                    ex.getMessage());
+            scheduleIn(tracked, retryDelay.toMillis());
+            return;
+        }
+        refreshes.increment();
+        log.debug("🔄 Refreshed tokens for {} ahead of expiry", authentication.getName());
+        Instant expiresAt = tokenExpiry(refreshed, updatedAuthentication);
+        sessionEvents.tokenRefreshed(tracked.sessionId, expiresAt);
+        schedule(tracked, expiresAt);
+    }
+
+    // Kotha ID token validate (signature, iss, aud, exp) chesi - same sub aithe matrame principal replace
+    private OAuth2AuthenticationToken withNewIdToken(OAuth2AuthenticationToken authentication, OidcUser oidcUser,
+            ClientRegistration registration, String rawIdToken) {
+        Jwt jwt;
+        try {
+            jwt = idTokenDecoders.createDecoder(registration).decode(rawIdToken);
+        } catch (RuntimeException ex) {
+            log.warn("⚠️ Refreshed ID token for {} is invalid: {}", authentication.getName(), ex.getMessage());
+            return null;
+        }
+        OidcIdToken idToken = new OidcIdToken(jwt.getTokenValue(), jwt.getIssuedAt(), jwt.getExpiresAt(),
+                jwt.getClaims());
+        if (!oidcUser.getSubject().equals(idToken.getSubject())) {
+            log.warn("⚠️ Refreshed ID token subject changed for {} - ignoring", authentication.getName());
+            return null;
+        }
+        String nameAttribute = registration.getProviderDetails().getUserInfoEndpoint().getUserNameAttributeName();
+        DefaultOidcUser user = nameAttribute != null
+                ? new DefaultOidcUser(oidcUser.getAuthorities(), idToken, oidcUser.getUserInfo(), nameAttribute)
+                : new DefaultOidcUser(oidcUser.getAuthorities(), idToken, oidcUser.getUserInfo());
+        return new OAuth2AuthenticationToken(user, authentication.getAuthorities(),
+                authentication.getAuthorizedClientRegistrationId());
+    }
+
+    /**
+     * Whichever of the access token and ID token expires first (now + 1h if neither says).
+     */
+    public static Instant tokenExpiry(OAuth2AuthorizedClient client, Authentication authentication) {
+        Instant expiresAt = client != null ? client.getAccessToken().getExpiresAt() : null;
+        if (authentication.getPrincipal() instanceof OidcUser oidcUser && oidcUser.getIdToken() != null
+                && oidcUser.getIdToken().getExpiresAt() != null
+                && (expiresAt == null || oidcUser.getIdToken().getExpiresAt().isBefore(expiresAt))) {
+            expiresAt = oidcUser.getIdToken().getExpiresAt();
+        }
+        return expiresAt != null ? expiresAt : Instant.now().plus(Duration.ofHours(1));
+    }
+
+    private void untrack(TrackedSession tracked) {
+        sessions.values().remove(tracked);
+        tracked.cancel();
+    }
+
+    private static final class TrackedSession {
+
+        private final String sessionId;
+        private volatile ScheduledFuture<?> next;
+
+        TrackedSession(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        void cancel() {
+            ScheduledFuture<?> scheduled = next;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
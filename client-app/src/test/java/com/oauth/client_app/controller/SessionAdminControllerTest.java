@@ -0,0 +1,78 @@
+package com.oauth.client_app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 🚨 Session admin - X-Admin-Token lekapothe 401 (loopback nundi aina), correct token tho matrame list / revoke.
+ */
+@SpringBootTest(properties = { "session-admin.token=ops-secret", "flow-log.enabled=false" })
+@AutoConfigureMockMvc
+class SessionAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void sessionStore(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("session-store.file",
+                Files.createTempDirectory("session-admin-test").resolve("sessions.log")::toString);
+    }
+
+    @Test
+    void unauthenticatedRemoteCallerIsRejected() throws Exception {
+        mockMvc.perform(get("/internal/sessions/victim").with(remote("203.0.113.9")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/internal/sessions/victim").with(remote("203.0.113.9")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void loopbackWithoutTokenIsRejected() throws Exception {
+        // Same host reverse proxy laaga - source IP loopback ayina credential kaadu
+        mockMvc.perform(delete("/internal/sessions/victim").with(remote("127.0.0.1")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/internal/sessions/victim").with(remote("::1")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void wrongTokenIsRejected() throws Exception {
+        mockMvc.perform(delete("/internal/sessions/victim").header("X-Admin-Token", "ops-secreT"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/internal/sessions/victim").header("X-Admin-Token", ""))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void adminTokenListsAndRevokesWithoutCsrf() throws Exception {
+        mockMvc.perform(get("/internal/sessions/victim").header("X-Admin-Token", "ops-secret")
+                        .with(remote("203.0.113.9")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subject").value("victim"));
+        mockMvc.perform(delete("/internal/sessions/victim").header("X-Admin-Token", "ops-secret"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.revoked").value(0));
+    }
+
+    private static RequestPostProcessor remote(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
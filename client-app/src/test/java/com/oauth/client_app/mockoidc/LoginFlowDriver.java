@@ -0,0 +1,360 @@
+package com.oauth.client_app.mockoidc;
+
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🏋️ LOGIN FLOW LOAD DRIVER - servlet LoginFlowLoadTest + reactive ReactiveLoginFlowLoadTest rendu idhe vaadutayi
+ *
+ * Mawa! {@link MockOidcProvider} + photos stub start chesi, app properties register chesi, virtual users tho
+ * login → /api/photos → logout cycles run chestundi. Reactive module ee package ni test source ga compile chestundi
+ * (client-app/reactive/pom.xml build-helper) - copy ledu, rendu builds same numbers same code tho.
+ *
+ * Knobs (-D): loadtest.login.users (32), .warmup (5s), .duration (20s), .provider-latency (20ms),
+ * .photos-latency (20ms), .max-error-rate (0.01), .p99-limit (login p99 ki fail limit, default ledu).
+ */
+public final class LoginFlowDriver implements AutoCloseable {
+
+    public static final String CLIENT_ID = "load-test-client";
+    public static final String CLIENT_SECRET = "load-test-secret";
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+
+    private final MockOidcProvider provider;
+    private final HttpServer photos;
+
+    private enum Phase {
+        LOGIN, PHOTOS, LOGOUT, CYCLE
+    }
+
+    private LoginFlowDriver() {
+        this.provider = MockOidcProvider.start(CLIENT_ID, CLIENT_SECRET)
+                .latency(setting("provider-latency", Duration.ofMillis(20)));
+        this.photos = startPhotos(setting("photos-latency", Duration.ofMillis(20)));
+    }
+
+    /**
+     * Provider + photos stub start chesi Google provider endpoints, client credentials, downstream URI register.
+     */
+    public static LoginFlowDriver start(DynamicPropertyRegistry registry) {
+        LoginFlowDriver driver = new LoginFlowDriver();
+        MockOidcProvider provider = driver.provider;
+        String registration = "spring.security.oauth2.client.registration.google.";
+        registry.add(registration + "client-id", () -> CLIENT_ID);
+        registry.add(registration + "client-secret", () -> CLIENT_SECRET);
+        // issuer-uri → startup lo discovery; yaml lo Google URIs unnayi kabatti endpoints kuda override
+        String prefix = "spring.security.oauth2.client.provider.google.";
+        registry.add(prefix + "issuer-uri", provider::issuer);
+        registry.add(prefix + "authorization-uri", () -> provider.uri(MockOidcProvider.Endpoint.AUTHORIZE));
+        registry.add(prefix + "token-uri", () -> provider.uri(MockOidcProvider.Endpoint.TOKEN));
+        registry.add(prefix + "user-info-uri", () -> provider.uri(MockOidcProvider.Endpoint.USERINFO));
+        registry.add(prefix + "jwk-set-uri", () -> provider.uri(MockOidcProvider.Endpoint.JWKS));
+        registry.add("downstream.resource-server-uri",
+                () -> "http://127.0.0.1:" + driver.photos.getAddress().getPort());
+        return driver;
+    }
+
+    /**
+     * @param build         output lo label ("servlet" / "reactive")
+     * @param app           client app base URL
+     * @param sessionCookie login tarvata undalsina session cookie (JSESSIONID / SESSION)
+     */
+    public void run(String build, String app, String sessionCookie) throws InterruptedException {
+        int users = Integer.parseInt(System.getProperty("loadtest.login.users", "32"));
+        Duration warmup = setting("warmup", Duration.ofSeconds(5));
+        Duration measure = setting("duration", Duration.ofSeconds(20));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.login.max-error-rate", "0.01"));
+        String p99Limit = System.getProperty("loadtest.login.p99-limit");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                // Redirects manam follow chestam - prathi hop cookies + status check
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + measure.toNanos();
+        List<User> running = new ArrayList<>(users);
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User(client, app, sessionCookie, "load-user-" + i, measureFrom, measureUntil);
+            running.add(user);
+            threads.add(Thread.ofVirtual().name("login-user-" + i).start(user));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Phase, long[]> latencies = new EnumMap<>(Phase.class);
+        long errors = 0;
+        for (Phase phase : Phase.values()) {
+            latencies.put(phase, merge(running, phase));
+        }
+        for (User user : running) {
+            errors += user.errors;
+        }
+        long cycles = latencies.get(Phase.CYCLE).length;
+        double seconds = measure.toMillis() / 1000.0;
+        double errorRate = cycles + errors == 0 ? 1.0 : (double) errors / (cycles + errors);
+
+        System.out.println();
+        System.out.println("🔐 Login flow load test (" + build + ") - users=" + users + ", provider latency="
+                + setting("provider-latency", Duration.ofMillis(20)).toMillis() + " ms, photos latency="
+                + setting("photos-latency", Duration.ofMillis(20)).toMillis() + " ms, window=" + measure.toSeconds()
+                + " s");
+        System.out.printf("%8s %10s %10s %10s %10s %10s%n", "phase", "count", "per sec", "p50 ms", "p99 ms",
+                "max ms");
+        for (Phase phase : Phase.values()) {
+            long[] sorted = latencies.get(phase);
+            System.out.printf("%8s %10d %10.1f %10d %10d %10d%n", phase.name().toLowerCase(), sorted.length,
+                    sorted.length / seconds, percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                    percentileMillis(sorted, 1.0));
+        }
+        System.out.printf("🏁 logins/sec: %.1f, login p99: %d ms, errors: %d (%.2f%%)%n",
+                latencies.get(Phase.LOGIN).length / seconds, percentileMillis(latencies.get(Phase.LOGIN), 0.99),
+                errors, errorRate * 100);
+        System.out.println("🧪 Provider calls: " + provider.stats());
+        running.stream().map(user -> user.lastError).filter(error -> error != null).findFirst()
+                .ifPresent(error -> System.out.println("⚠️ Sample error: " + error));
+
+        assertTrue(errorRate <= maxErrorRate, "error rate " + errorRate + " > " + maxErrorRate);
+        if (p99Limit != null) {
+            long limit = DurationStyle.detectAndParse(p99Limit).toMillis();
+            assertTrue(percentileMillis(latencies.get(Phase.LOGIN), 0.99) <= limit, "login p99 > " + limit + " ms");
+        }
+    }
+
+    @Override
+    public void close() {
+        provider.close();
+        photos.stop(0);
+    }
+
+    // ========== Virtual user ==========
+
+    private static final class User implements Runnable {
+
+        private final HttpClient client;
+        private final String app;
+        private final String sessionCookie;
+        private final String subject;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<String, String> cookies = new HashMap<>();
+        private final Map<Phase, long[]> latencies = new EnumMap<>(Phase.class);
+        private final Map<Phase, Integer> counts = new EnumMap<>(Phase.class);
+        private long errors;
+        private String lastError;
+
+        User(HttpClient client, String app, String sessionCookie, String subject, long measureFrom,
+                long measureUntil) {
+            this.client = client;
+            this.app = app;
+            this.sessionCookie = sessionCookie;
+            this.subject = subject;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            for (Phase phase : Phase.values()) {
+                latencies.put(phase, new long[256]);
+                counts.put(phase, 0);
+            }
+        }
+
+        @Override
+        public void run() {
+            long cycleStart;
+            while ((cycleStart = System.nanoTime()) < measureUntil) {
+                // Warmup lo / window tarvata start ayinavi count cheyyam
+                boolean measured = cycleStart >= measureFrom;
+                cookies.clear();
+                try {
+                    long start = System.nanoTime();
+                    login();
+                    record(Phase.LOGIN, start, measured);
+
+                    start = System.nanoTime();
+                    HttpResponse<String> response = get(app + "/api/photos");
+                    expect(response, 200, "photos");
+                    record(Phase.PHOTOS, start, measured);
+
+                    start = System.nanoTime();
+                    logout();
+                    record(Phase.LOGOUT, start, measured);
+                    record(Phase.CYCLE, cycleStart, measured);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception ex) {
+                    if (measured) {
+                        errors++;
+                        lastError = ex.toString();
+                    }
+                }
+            }
+        }
+
+        private void login() throws IOException, InterruptedException {
+            HttpResponse<String> redirect = get(app + "/oauth2/authorization/google");
+            String authorize = expect(redirect, 302, "authorization redirect");
+            // Same user prathi cycle - provider login_hint tho sub fix
+            HttpResponse<String> code = get(authorize + "&login_hint=" + URLEncoder.encode(subject,
+                    StandardCharsets.UTF_8));
+            String callback = expect(code, 302, "provider authorize");
+            HttpResponse<String> loggedIn = get(callback);
+            String target = expect(loggedIn, 302, "login callback");
+            if (!target.endsWith("/dashboard") || !cookies.containsKey(sessionCookie)) {
+                throw new IllegalStateException("login callback → " + target);
+            }
+        }
+
+        private void logout() throws IOException, InterruptedException {
+            HttpResponse<String> page = get(app + "/logout");
+            expect(page, 200, "logout page");
+            Matcher csrf = CSRF.matcher(page.body());
+            if (!csrf.find()) {
+                throw new IllegalStateException("no CSRF token on logout page");
+            }
+            HttpResponse<String> loggedOut = send(HttpRequest.newBuilder(URI.create(app + "/logout"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("_csrf=" + URLEncoder.encode(csrf.group(1),
+                            StandardCharsets.UTF_8))));
+            expect(loggedOut, 302, "logout");
+        }
+
+        private HttpResponse<String> get(String uri) throws IOException, InterruptedException {
+            return send(HttpRequest.newBuilder(URI.create(uri)).GET());
+        }
+
+        // Browser laane: cookies (login cookie, session cookie) store chesi prathi request ki pampu
+        private HttpResponse<String> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+            builder.timeout(Duration.ofSeconds(30));
+            if (!cookies.isEmpty()) {
+                StringBuilder header = new StringBuilder();
+                cookies.forEach((name, value) -> header.append(header.isEmpty() ? "" : "; ").append(name)
+                        .append('=').append(value));
+                builder.header("Cookie", header.toString());
+            }
+            HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            for (String setCookie : response.headers().allValues("Set-Cookie")) {
+                String pair = setCookie.split(";", 2)[0];
+                int split = pair.indexOf('=');
+                String name = pair.substring(0, split).trim();
+                String value = pair.substring(split + 1).trim();
+                if (value.isEmpty() || setCookie.contains("Max-Age=0")) {
+                    cookies.remove(name);
+                } else {
+                    cookies.put(name, value);
+                }
+            }
+            return response;
+        }
+
+        private static String expect(HttpResponse<String> response, int status, String step) {
+            if (response.statusCode() != status) {
+                throw new IllegalStateException(step + " → HTTP " + response.statusCode());
+            }
+            return response.headers().firstValue("Location").orElse(null);
+        }
+
+        private void record(Phase phase, long start, boolean measured) {
+            if (!measured) {
+                return;
+            }
+            long[] values = latencies.get(phase);
+            int count = counts.get(phase);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(phase, values);
+            }
+            values[count] = System.nanoTime() - start;
+            counts.put(phase, count + 1);
+        }
+    }
+
+    // ========== Results ==========
+
+    private static long[] merge(List<User> users, Phase phase) {
+        int total = users.stream().mapToInt(user -> user.counts.get(phase)).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (User user : users) {
+            int count = user.counts.get(phase);
+            System.arraycopy(user.latencies.get(phase), 0, all, offset, count);
+            offset += count;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static long percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+    }
+
+    // ========== Stubs / settings ==========
+
+    // Resource-server stand-in: Bearer header unte photos HTML, latency tarvata
+    private static HttpServer startPhotos(Duration latency) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+            server.createContext("/photos", exchange -> {
+                try (exchange) {
+                    Thread.sleep(latency);
+                    String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+                    byte[] body = "<ul><li>📸 load-test photo</li></ul>".getBytes(StandardCharsets.UTF_8);
+                    if (authorization == null || !authorization.startsWith("Bearer ")) {
+                        exchange.sendResponseHeaders(401, -1);
+                        return;
+                    }
+                    exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return server;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Duration setting(String name, Duration defaultValue) {
+        String value = System.getProperty("loadtest.login." + name);
+        return value != null ? DurationStyle.detectAndParse(value) : defaultValue;
+    }
+}
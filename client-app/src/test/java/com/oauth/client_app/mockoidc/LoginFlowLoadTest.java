@@ -0,0 +1,68 @@
+package com.oauth.client_app.mockoidc;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 🏋️ OFFLINE LOGIN FLOW LOAD TEST
+ *
+ * Mawa! Real oauth2Login flow ni Google lekunda kolavadaniki - {@link MockOidcProvider} + photos stub same JVM lo,
+ * client-app random port lo (full filter chain, login cookie, session store, token exchange, ID token validation).
+ * Prathi virtual user loop lo okka full cycle, think time ledu ({@link LoginFlowDriver}):
+ *
+ * 1. login → /oauth2/authorization/google → provider /authorize → /login/oauth2/code/google (session create)
+ * 2. photos → /api/photos (ProxyResponseCache → stub)
+ * 3. logout → GET /logout (CSRF token page) → POST /logout
+ *
+ * Warmup tarvata measured window lo start ayina phases matrame count. Output: logins/sec + p50/p99 per phase.
+ * Default build lo run avvadu: mvn -P login-loadtest test (leda -Dtest=LoginFlowLoadTest -Dloadtest.login=true).
+ * Reactive build ki same driver: client-app/reactive lo ReactiveLoginFlowLoadTest.
+ */
+@EnabledIfSystemProperty(named = "loadtest.login", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // Teaching output / DEBUG-TRACE security logs throughput kolustayi, login kaadu
+        "flow-log.enabled=false",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.security.oauth2.client=WARN",
+        "logging.level.org.springframework.security.oauth2.client.web.OAuth2AuthorizationRequestRedirectFilter=WARN",
+        "logging.level.org.springframework.security.oauth2.client.web.OAuth2LoginAuthenticationFilter=WARN",
+        "logging.level.org.springframework.security.oauth2.client.endpoint=WARN",
+        "logging.level.org.springframework.security.oauth2.client.oidc.userinfo=WARN",
+        "logging.level.org.springframework.security.web.FilterChainProxy=WARN",
+        "logging.level.org.springframework.web.client.RestTemplate=WARN",
+        "logging.level.com.oauth.client_app=INFO" })
+class LoginFlowLoadTest {
+
+    private static LoginFlowDriver driver;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void providerProperties(DynamicPropertyRegistry registry) throws IOException {
+        driver = LoginFlowDriver.start(registry);
+        Path sessions = Files.createTempDirectory("login-loadtest").resolve("sessions.log");
+        registry.add("session-store.file", sessions::toString);
+    }
+
+    @AfterAll
+    static void stop() {
+        if (driver != null) {
+            driver.close();
+        }
+    }
+
+    @Test
+    void loginPhotosLogoutCycles() throws InterruptedException {
+        driver.run("servlet", "http://localhost:" + port, "JSESSIONID");
+    }
+}
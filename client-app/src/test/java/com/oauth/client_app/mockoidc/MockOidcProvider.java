@@ -0,0 +1,415 @@
+package com.oauth.client_app.mockoidc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🧪 IN-PROCESS MOCK OIDC PROVIDER (Google stand-in)
+ *
+ * Mawa! Load test lo prathi login accounts.google.com + oauth2.googleapis.com ki vellakudadu. Ee class
+ * same JVM lo JDK HttpServer tho Google laanti provider:
+ *
+ * 1. /.well-known/openid-configuration → discovery (issuer-uri set chesthe Spring startup lo chaduvutundi)
+ * 2. /authorize → login page ledu, ventane code tho redirect_uri ki 302 (login_hint = user, lekapote kotha user)
+ * 3. /token → authorization_code (client auth + redirect_uri + PKCE check, code single-use) / refresh_token
+ * 4. /userinfo → Bearer access token → profile claims
+ * 5. /jwks → RS256 public key
+ *
+ * ID token Google laane: RS256 + kid, iss / aud / azp / nonce / at_hash / name / email / picture.
+ * Prathi endpoint ki configurable latency (real provider round trip simulate) - virtual threads, so sleep free.
+ */
+public final class MockOidcProvider implements AutoCloseable {
+
+    public enum Endpoint {
+        DISCOVERY, AUTHORIZE, TOKEN, USERINFO, JWKS
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    private final String clientId;
+    private final String clientSecret;
+    private final Map<Endpoint, Duration> latency = new EnumMap<>(Endpoint.class);
+    private final RSAKey signingKey;
+    private final RSASSASigner signer;
+    private final String jwks;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final String issuer;
+
+    // Code single-use, 1 minute lo expire; tokens token lifetime varaku
+    private final Cache<String, Grant> codes = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1)).build();
+    private final Cache<String, String> accessTokens = Caffeine.newBuilder()
+            .expireAfterWrite(TOKEN_LIFETIME).maximumSize(1_000_000).build();
+    private final Cache<String, String> refreshTokens = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofDays(1)).maximumSize(1_000_000).build();
+
+    private final AtomicLong userSequence = new AtomicLong();
+    private final Map<Endpoint, LongAdder> calls = new EnumMap<>(Endpoint.class);
+
+    private record Grant(String subject, String redirectUri, String nonce, String scope, String codeChallenge) {
+    }
+
+    private MockOidcProvider(String clientId, String clientSecret) throws IOException {
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        try {
+            this.signingKey = new RSAKeyGenerator(2048).keyID("mock-" + randomToken(6)).keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.RS256).generate();
+            this.signer = new RSASSASigner(signingKey);
+        } catch (JOSEException ex) {
+            throw new IllegalStateException(ex);
+        }
+        this.jwks = new JWKSet(signingKey.toPublicJWK()).toString();
+        for (Endpoint endpoint : Endpoint.values()) {
+            latency.put(endpoint, Duration.ZERO);
+            calls.put(endpoint, new LongAdder());
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.issuer = "http://127.0.0.1:" + server.getAddress().getPort();
+        server.createContext("/.well-known/openid-configuration", exchange -> handle(exchange, Endpoint.DISCOVERY));
+        server.createContext("/authorize", exchange -> handle(exchange, Endpoint.AUTHORIZE));
+        server.createContext("/token", exchange -> handle(exchange, Endpoint.TOKEN));
+        server.createContext("/userinfo", exchange -> handle(exchange, Endpoint.USERINFO));
+        server.createContext("/jwks", exchange -> handle(exchange, Endpoint.JWKS));
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts a provider on a random localhost port that accepts exactly this client.
+     */
+    public static MockOidcProvider start(String clientId, String clientSecret) {
+        try {
+            MockOidcProvider provider = new MockOidcProvider(clientId, clientSecret);
+            provider.server.start();
+            return provider;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Simulated round-trip time added to every call of this endpoint.
+     */
+    public MockOidcProvider latency(Endpoint endpoint, Duration delay) {
+        latency.put(endpoint, delay);
+        return this;
+    }
+
+    public MockOidcProvider latency(Duration delay) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            latency(endpoint, delay);
+        }
+        return this;
+    }
+
+    public String issuer() {
+        return issuer;
+    }
+
+    public String uri(Endpoint endpoint) {
+        return issuer + switch (endpoint) {
+            case DISCOVERY -> "/.well-known/openid-configuration";
+            case AUTHORIZE -> "/authorize";
+            case TOKEN -> "/token";
+            case USERINFO -> "/userinfo";
+            case JWKS -> "/jwks";
+        };
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        calls.forEach((endpoint, count) -> stats.put(endpoint.name().toLowerCase(), count.sum()));
+        stats.put("users", userSequence.get());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // ========== Endpoints ==========
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        calls.get(endpoint).increment();
+        try (exchange) {
+            Duration delay = latency.get(endpoint);
+            if (!delay.isZero()) {
+                Thread.sleep(delay);
+            }
+            switch (endpoint) {
+                case DISCOVERY -> json(exchange, 200, discovery());
+                case AUTHORIZE -> authorize(exchange);
+                case TOKEN -> token(exchange);
+                case USERINFO -> userInfo(exchange);
+                case JWKS -> send(exchange, 200, "application/json", jwks);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            json(exchange, 500, Map.of("error", "server_error", "error_description", String.valueOf(ex)));
+        }
+    }
+
+    private Map<String, Object> discovery() {
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("issuer", issuer);
+        metadata.put("authorization_endpoint", uri(Endpoint.AUTHORIZE));
+        metadata.put("token_endpoint", uri(Endpoint.TOKEN));
+        metadata.put("userinfo_endpoint", uri(Endpoint.USERINFO));
+        metadata.put("jwks_uri", uri(Endpoint.JWKS));
+        metadata.put("response_types_supported", List.of("code"));
+        metadata.put("subject_types_supported", List.of("public"));
+        metadata.put("id_token_signing_alg_values_supported", List.of("RS256"));
+        metadata.put("scopes_supported", List.of("openid", "email", "profile"));
+        metadata.put("token_endpoint_auth_methods_supported", List.of("client_secret_basic", "client_secret_post"));
+        metadata.put("grant_types_supported", List.of("authorization_code", "refresh_token"));
+        metadata.put("code_challenge_methods_supported", List.of("S256", "plain"));
+        return metadata;
+    }
+
+    // Consent screen ledu - user already logged in ayinattu ventane code
+    private void authorize(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseForm(exchange.getRequestURI().getRawQuery());
+        String redirectUri = params.get("redirect_uri");
+        if (!clientId.equals(params.get("client_id")) || redirectUri == null
+                || !"code".equals(params.get("response_type"))) {
+            json(exchange, 400, Map.of("error", "invalid_request"));
+            return;
+        }
+        String subject = params.getOrDefault("login_hint", "user-" + userSequence.incrementAndGet());
+        String code = randomToken(24);
+        codes.put(code, new Grant(subject, redirectUri, params.get("nonce"), params.getOrDefault("scope", "openid"),
+                params.get("code_challenge")));
+
+        StringBuilder location = new StringBuilder(redirectUri).append(redirectUri.contains("?") ? '&' : '?')
+                .append("code=").append(code);
+        if (params.containsKey("state")) {
+            location.append("&state=").append(URLEncoder.encode(params.get("state"), StandardCharsets.UTF_8));
+        }
+        exchange.getResponseHeaders().add("Location", location.toString());
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            json(exchange, 405, Map.of("error", "invalid_request"));
+            return;
+        }
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(),
+                StandardCharsets.UTF_8));
+        if (!authenticateClient(exchange, form)) {
+            json(exchange, 401, Map.of("error", "invalid_client"));
+            return;
+        }
+        switch (form.getOrDefault("grant_type", "")) {
+            case "authorization_code" -> {
+                Grant grant = form.get("code") != null ? codes.asMap().remove(form.get("code")) : null;
+                if (grant == null || !grant.redirectUri().equals(form.get("redirect_uri"))
+                        || !verifyPkce(grant.codeChallenge(), form.get("code_verifier"))) {
+                    json(exchange, 400, Map.of("error", "invalid_grant"));
+                    return;
+                }
+                json(exchange, 200, tokenResponse(grant.subject(), grant.nonce(), grant.scope(), true));
+            }
+            case "refresh_token" -> {
+                String subject = form.get("refresh_token") != null
+                        ? refreshTokens.getIfPresent(form.get("refresh_token")) : null;
+                if (subject == null) {
+                    json(exchange, 400, Map.of("error", "invalid_grant"));
+                    return;
+                }
+                // Google laane refresh response lo kotha refresh token raadu
+                json(exchange, 200, tokenResponse(subject, null, "openid email profile", false));
+            }
+            default -> json(exchange, 400, Map.of("error", "unsupported_grant_type"));
+        }
+    }
+
+    private void userInfo(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String subject = authorization != null && authorization.startsWith("Bearer ")
+                ? accessTokens.getIfPresent(authorization.substring(7)) : null;
+        if (subject == null) {
+            exchange.getResponseHeaders().add("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+            json(exchange, 401, Map.of("error", "invalid_token"));
+            return;
+        }
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", subject);
+        claims.putAll(profile(subject));
+        json(exchange, 200, claims);
+    }
+
+    // ========== Tokens ==========
+
+    private Map<String, Object> tokenResponse(String subject, String nonce, String scope, boolean withRefreshToken) {
+        String accessToken = "mock-at." + randomToken(32);
+        accessTokens.put(accessToken, subject);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("access_token", accessToken);
+        response.put("token_type", "Bearer");
+        response.put("expires_in", TOKEN_LIFETIME.toSeconds());
+        response.put("scope", scope);
+        response.put("id_token", idToken(subject, nonce, accessToken));
+        if (withRefreshToken) {
+            String refreshToken = "mock-rt." + randomToken(32);
+            refreshTokens.put(refreshToken, subject);
+            response.put("refresh_token", refreshToken);
+        }
+        return response;
+    }
+
+    private String idToken(String subject, String nonce, String accessToken) {
+        Instant now = Instant.now();
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(subject)
+                .audience(clientId)
+                .claim("azp", clientId)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(TOKEN_LIFETIME)))
+                .claim("auth_time", now.getEpochSecond())
+                .claim("at_hash", atHash(accessToken));
+        if (nonce != null) {
+            claims.claim("nonce", nonce);
+        }
+        profile(subject).forEach(claims::claim);
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID())
+                .type(JOSEObjectType.JWT).build(), claims.build());
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return jwt.serialize();
+    }
+
+    private static Map<String, Object> profile(String subject) {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("name", "Load " + subject);
+        profile.put("given_name", "Load");
+        profile.put("family_name", subject);
+        profile.put("email", subject + "@example.test");
+        profile.put("email_verified", true);
+        profile.put("picture", "https://example.test/avatars/" + subject + ".png");
+        return profile;
+    }
+
+    // OIDC at_hash: SHA-256(access token) left half, base64url
+    private static String atHash(String accessToken) {
+        byte[] digest = sha256(accessToken);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, digest.length / 2));
+    }
+
+    // ========== Helpers ==========
+
+    private boolean authenticateClient(HttpExchange exchange, Map<String, String> form) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization != null && authorization.startsWith("Basic ")) {
+            String decoded = new String(Base64.getDecoder().decode(authorization.substring(6)),
+                    StandardCharsets.UTF_8);
+            int colon = decoded.indexOf(':');
+            return colon > 0
+                    && clientId.equals(URLDecoder.decode(decoded.substring(0, colon), StandardCharsets.UTF_8))
+                    && clientSecret.equals(URLDecoder.decode(decoded.substring(colon + 1), StandardCharsets.UTF_8));
+        }
+        return clientId.equals(form.get("client_id")) && clientSecret.equals(form.get("client_secret"));
+    }
+
+    private static boolean verifyPkce(String challenge, String verifier) {
+        if (challenge == null) {
+            return true;
+        }
+        return verifier != null && challenge.equals(
+                Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(verifier)));
+    }
+
+    private static Map<String, String> parseForm(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int split = pair.indexOf('=');
+            String name = split < 0 ? pair : pair.substring(0, split);
+            String value = split < 0 ? "" : pair.substring(split + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static void json(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, "application/json", JSON.writeValueAsString(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.getResponseHeaders().add("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String randomToken(int bytes) {
+        byte[] random = new byte[bytes];
+        RANDOM.nextBytes(random);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
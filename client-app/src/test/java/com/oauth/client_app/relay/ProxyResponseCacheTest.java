@@ -0,0 +1,276 @@
+package com.oauth.client_app.relay;
+
+import com.oauth.client_app.metrics.FlowMetrics;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🗃️ ProxyResponseCache - single-flight, 304 revalidate, 4xx/5xx cache avvavu, invalidate in-flight fence, interruptible wait.
+ */
+class ProxyResponseCacheTest {
+
+    private static final String SUBJECT = "user-1";
+    private static final Instant TOKEN_EXP = Instant.now().plus(Duration.ofHours(1));
+
+    private HttpServer downstream;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ConcurrentLinkedQueue<String> ifNoneMatch = new ConcurrentLinkedQueue<>();
+    private volatile int status = 200;
+    private volatile String body = "[\"v1\"]";
+    private volatile String etag = "\"v1\"";
+    // Set chesthe response aa latch open ayye varaku hold
+    private volatile CountDownLatch hold;
+
+    @BeforeEach
+    void startDownstream() throws IOException {
+        downstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        downstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        downstream.createContext("/photos", exchange -> {
+            try (exchange) {
+                calls.incrementAndGet();
+                String sent = exchange.getRequestHeaders().getFirst("If-None-Match");
+                if (sent != null) {
+                    ifNoneMatch.add(sent);
+                }
+                // Request vachinappati state snapshot - hold lo unna response patha listing ne istundi
+                String currentEtag = etag;
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                int currentStatus = status;
+                CountDownLatch latch = hold;
+                if (latch != null) {
+                    latch.await(5, TimeUnit.SECONDS);
+                }
+                exchange.getResponseHeaders().add("ETag", currentEtag);
+                if (sent != null && sent.equals(currentEtag)) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(currentStatus, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        downstream.start();
+    }
+
+    @AfterEach
+    void stop() {
+        downstream.stop(0);
+    }
+
+    @Test
+    void freshEntryIsServedWithoutDownstreamCall() throws Exception {
+        ProxyResponseCache cache = cache(Duration.ofMinutes(1));
+
+        ProxyResponseCache.CachedResponse first = get(cache);
+        ProxyResponseCache.CachedResponse second = get(cache);
+
+        assertEquals("[\"v1\"]", second.body());
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(1L, cache.stats().get("freshHits"));
+    }
+
+    @Test
+    void concurrentMissesCollapseToOneDownstreamCall() throws Exception {
+        ProxyResponseCache cache = cache(Duration.ofMinutes(1));
+        hold = new CountDownLatch(1);
+
+        int threads = 16;
+        List<Thread> callers = new ArrayList<>();
+        ConcurrentLinkedQueue<String> bodies = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < threads; i++) {
+            callers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    bodies.add(get(cache).body());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        // Andaru leader fetch meeda wait chestunnaka ne release
+        await(() -> (long) cache.stats().get("sharedWaits") == threads - 1);
+        hold.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(threads, bodies.size());
+        assertTrue(bodies.stream().allMatch("[\"v1\"]"::equals));
+        assertEquals(1L, cache.stats().get("fetches"));
+    }
+
+    @Test
+    void staleEntryIsRevalidatedWith304AndBodyReused() throws Exception {
+        // fresh-for zero - prathi get revalidate
+        ProxyResponseCache cache = cache(Duration.ZERO);
+
+        ProxyResponseCache.CachedResponse first = get(cache);
+        ProxyResponseCache.CachedResponse revalidated = get(cache);
+
+        assertEquals(2, calls.get());
+        assertEquals(List.of("\"v1\""), List.copyOf(ifNoneMatch));
+        assertEquals(200, revalidated.status());
+        assertEquals(first.body(), revalidated.body());
+        assertEquals(first.etag(), revalidated.etag());
+        assertEquals(1L, cache.stats().get("revalidated"));
+        assertEquals(1L, cache.stats().get("fetches"));
+
+        // Content maarindi - etag match kaadu, kotha body
+        body = "[\"v2\"]";
+        etag = "\"v2\"";
+        assertEquals("[\"v2\"]", get(cache).body());
+        assertEquals(2L, cache.stats().get("fetches"));
+    }
+
+    @Test
+    void clientAndServerErrorsAreNotCached() throws Exception {
+        ProxyResponseCache cache = cache(Duration.ofMinutes(1));
+
+        status = 404;
+        assertThrows(HttpClientErrorException.class, () -> get(cache));
+        assertThrows(HttpClientErrorException.class, () -> get(cache));
+        status = 503;
+        assertThrows(HttpServerErrorException.class, () -> get(cache));
+
+        // Error tarvata success - downstream ki velthundi, cache nundi kaadu
+        status = 200;
+        assertEquals("[\"v1\"]", get(cache).body());
+        assertEquals(4, calls.get());
+        assertEquals(0L, cache.stats().get("freshHits"));
+        assertEquals(1L, cache.stats().get("entries"));
+    }
+
+    @Test
+    void sharedWaitersSeeTheLeadersError() throws Exception {
+        ProxyResponseCache cache = cache(Duration.ofMinutes(1));
+        status = 500;
+        hold = new CountDownLatch(1);
+
+        AtomicReference<Throwable> leader = new AtomicReference<>();
+        AtomicReference<Throwable> waiter = new AtomicReference<>();
+        Thread first = Thread.ofVirtual().start(() -> leader.set(failure(cache)));
+        await(() -> calls.get() == 1);
+        Thread second = Thread.ofVirtual().start(() -> waiter.set(failure(cache)));
+        await(() -> (long) cache.stats().get("sharedWaits") == 1);
+        hold.countDown();
+        first.join();
+        second.join();
+
+        assertInstanceOf(HttpServerErrorException.class, leader.get());
+        assertInstanceOf(HttpServerErrorException.class, waiter.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void invalidateDuringFetchKeepsStaleResultOutOfCache() throws Exception {
+        ProxyResponseCache cache = cache(Duration.ofMinutes(1));
+        hold = new CountDownLatch(1);
+
+        // Upload mundu start ayina listing fetch
+        AtomicReference<String> inFlightBody = new AtomicReference<>();
+        Thread reader = Thread.ofVirtual().start(() -> {
+            try {
+                inFlightBody.set(get(cache).body());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        await(() -> calls.get() == 1);
+
+        // Upload ayyindi - relay invalidate, kani patha fetch inka response ivvaledu
+        body = "[\"v1\",\"v2\"]";
+        etag = "\"v2\"";
+        cache.invalidate(SUBJECT);
+        CountDownLatch slow = hold;
+        hold = null;
+        slow.countDown();
+        reader.join();
+
+        assertEquals("[\"v1\"]", inFlightBody.get());
+        assertEquals(0L, cache.stats().get("entries"));
+        assertEquals("[\"v1\",\"v2\"]", get(cache).body());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void interruptedSharedWaiterStopsWaiting() throws Exception {
+        ProxyResponseCache cache = cache(Duration.ofMinutes(1));
+        hold = new CountDownLatch(1);
+
+        Thread first = Thread.ofVirtual().start(() -> failure(cache));
+        await(() -> calls.get() == 1);
+        AtomicReference<Throwable> waiter = new AtomicReference<>();
+        Thread second = Thread.ofVirtual().start(() -> waiter.set(failure(cache)));
+        await(() -> (long) cache.stats().get("sharedWaits") == 1);
+
+        // DashboardAggregator timeout cancel(true) laaga
+        second.interrupt();
+        second.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertInstanceOf(InterruptedException.class, waiter.get());
+        hold.countDown();
+        first.join();
+        assertEquals(1, calls.get());
+    }
+
+    private ProxyResponseCache cache(Duration freshFor) {
+        return new ProxyResponseCache(new RestTemplate(), new FlowMetrics(new SimpleMeterRegistry()),
+                DataSize.ofMegabytes(1), freshFor, Duration.ofHours(1));
+    }
+
+    private ProxyResponseCache.CachedResponse get(ProxyResponseCache cache) throws InterruptedException {
+        return cache.get(SUBJECT, "/photos", "http://127.0.0.1:" + downstream.getAddress().getPort() + "/photos",
+                "token", TOKEN_EXP);
+    }
+
+    private Throwable failure(ProxyResponseCache cache) {
+        try {
+            get(cache);
+            return null;
+        } catch (Exception ex) {
+            return ex;
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,275 @@
+package com.oauth.client_app.relay;
+
+import com.oauth.client_app.mockoidc.MockOidcProvider;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicNameValuePair;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🔁 Relay end to end - login chesi /api/rs ki upload, stub downstream ki bytes same ga, hop-by-hop / cookies drop.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "flow-log.enabled=false",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.com.oauth.client_app=INFO" })
+class TokenRelayTest {
+
+    private static final String CLIENT_ID = "relay-test-client";
+    private static final String CLIENT_SECRET = "relay-test-secret";
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+    private static final int LARGE = 1536 * 1024;
+
+    private static MockOidcProvider provider;
+    private static HttpServer downstream;
+    private static final AtomicReference<Received> received = new AtomicReference<>();
+
+    private record Received(String method, String path, Headers headers, byte[] body) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private CloseableHttpClient client;
+    private final Map<String, String> cookies = new HashMap<>();
+    private String csrfToken;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        provider = MockOidcProvider.start(CLIENT_ID, CLIENT_SECRET);
+        downstream = startDownstream();
+        String registration = "spring.security.oauth2.client.registration.google.";
+        registry.add(registration + "client-id", () -> CLIENT_ID);
+        registry.add(registration + "client-secret", () -> CLIENT_SECRET);
+        String prefix = "spring.security.oauth2.client.provider.google.";
+        registry.add(prefix + "issuer-uri", provider::issuer);
+        registry.add(prefix + "authorization-uri", () -> provider.uri(MockOidcProvider.Endpoint.AUTHORIZE));
+        registry.add(prefix + "token-uri", () -> provider.uri(MockOidcProvider.Endpoint.TOKEN));
+        registry.add(prefix + "user-info-uri", () -> provider.uri(MockOidcProvider.Endpoint.USERINFO));
+        registry.add(prefix + "jwk-set-uri", () -> provider.uri(MockOidcProvider.Endpoint.JWKS));
+        registry.add("relay.target-uri", () -> "http://127.0.0.1:" + downstream.getAddress().getPort());
+        registry.add("session-store.file",
+                Files.createTempDirectory("relay-test").resolve("sessions.log")::toString);
+    }
+
+    @AfterAll
+    static void stop() {
+        if (provider != null) {
+            provider.close();
+        }
+        if (downstream != null) {
+            downstream.stop(0);
+        }
+    }
+
+    @BeforeEach
+    void login() throws IOException {
+        client = HttpClients.custom().disableRedirectHandling().disableCookieManagement().build();
+        String authorize = redirect(get("http://localhost:" + port + "/oauth2/authorization/google"));
+        String callback = redirect(get(authorize + "&login_hint=relay-user"));
+        assertTrue(redirect(get(callback)).endsWith("/dashboard"));
+        // React laane CSRF token header lo pampistam - body lo _csrf parameter ledu
+        Matcher csrf = CSRF.matcher(execute(new HttpGet("http://localhost:" + port + "/logout")).body());
+        assertTrue(csrf.find());
+        csrfToken = csrf.group(1);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        client.close();
+    }
+
+    @Test
+    void multipartUploadOverOneMegabyteArrivesUnchanged() throws IOException {
+        String boundary = "----relay-boundary-7MA4YWxkTrZu0gW";
+        ByteArrayOutputStream multipart = new ByteArrayOutputStream();
+        multipart.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"title\"\r\n\r\nGoa\r\n"
+                + "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"goa.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        multipart.writeBytes(randomBytes(LARGE, 1));
+        multipart.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        byte[] body = multipart.toByteArray();
+
+        Response response = post("/api/rs/photos", body,
+                ContentType.create("multipart/form-data").withParameters(
+                        new BasicNameValuePair("boundary", boundary)));
+
+        assertEquals(201, response.status());
+        Received request = received.get();
+        assertEquals("POST", request.method());
+        assertEquals("/photos", request.path());
+        assertEquals("multipart/form-data; boundary=" + boundary, request.headers().getFirst("Content-Type"));
+        assertArrayEquals(body, request.body());
+    }
+
+    @Test
+    void rawBodyOverOneMegabyteArrivesUnchanged() throws IOException {
+        byte[] body = randomBytes(2 * LARGE, 2);
+
+        Response response = post("/api/rs/photos/raw?name=goa.bin", body, ContentType.APPLICATION_OCTET_STREAM);
+
+        assertEquals(201, response.status());
+        Received request = received.get();
+        assertEquals("/photos/raw?name=goa.bin", request.path());
+        assertArrayEquals(body, request.body());
+    }
+
+    @Test
+    void hopByHopAndCookieHeadersAreDroppedBothWays() throws IOException {
+        HttpPost request = new HttpPost("http://localhost:" + port + "/api/rs/photos");
+        request.setEntity(new ByteArrayEntity("x".getBytes(StandardCharsets.UTF_8), ContentType.TEXT_PLAIN));
+        request.addHeader("X-CSRF-TOKEN", csrfToken);
+        request.addHeader("Connection", "keep-alive, X-Foo");
+        request.addHeader("X-Foo", "one-hop-only");
+        request.addHeader("Keep-Alive", "timeout=5");
+        request.addHeader("Proxy-Authorization", "Basic c2VjcmV0");
+        request.addHeader("X-Keep", "end-to-end");
+
+        Response response = execute(request);
+
+        assertEquals(201, response.status());
+        Headers sent = received.get().headers();
+        assertNull(sent.getFirst("X-Foo"));
+        assertNull(sent.getFirst("Keep-Alive"));
+        assertNull(sent.getFirst("Proxy-Authorization"));
+        assertNull(sent.getFirst("Cookie"));
+        assertEquals("end-to-end", sent.getFirst("X-Keep"));
+        assertTrue(sent.getFirst("Authorization").startsWith("Bearer "));
+        // Downstream "Connection: x-bar" + Set-Cookie browser ki raavu
+        assertNull(response.header("X-Bar"));
+        assertEquals("42", response.header("X-Photo-Id"));
+        assertTrue(response.setCookies().stream().noneMatch(value -> value.startsWith("rs-session=")));
+    }
+
+    // ========== Helpers ==========
+
+    private record Response(int status, Map<String, String> headers, List<String> setCookies,
+            String body) {
+
+        String header(String name) {
+            return headers.get(name.toLowerCase());
+        }
+    }
+
+    private Response post(String path, byte[] body, ContentType contentType) throws IOException {
+        HttpPost request = new HttpPost("http://localhost:" + port + path);
+        request.setEntity(new ByteArrayEntity(body, contentType));
+        request.addHeader("X-CSRF-TOKEN", csrfToken);
+        return execute(request);
+    }
+
+    private Response get(String uri) throws IOException {
+        return execute(new HttpGet(uri));
+    }
+
+    // Browser laane session cookie manam pampistam (Cookie header downstream ki vellakudadu ani check kosam)
+    private Response execute(HttpUriRequestBase request) throws IOException {
+        if (!cookies.isEmpty() && "localhost".equals(request.getAuthority().getHostName())) {
+            StringBuilder header = new StringBuilder();
+            cookies.forEach((name, value) -> header.append(header.isEmpty() ? "" : "; ").append(name)
+                    .append('=').append(value));
+            request.addHeader("Cookie", header.toString());
+        }
+        return client.execute(request, response -> {
+            Map<String, String> headers = new HashMap<>();
+            List<String> setCookies = new ArrayList<>();
+            for (Header header : response.getHeaders()) {
+                headers.put(header.getName().toLowerCase(), header.getValue());
+                if (header.getName().equalsIgnoreCase("Set-Cookie")) {
+                    setCookies.add(header.getValue());
+                    String pair = header.getValue().split(";", 2)[0];
+                    int split = pair.indexOf('=');
+                    String value = pair.substring(split + 1).trim();
+                    if (value.isEmpty() || header.getValue().contains("Max-Age=0")) {
+                        cookies.remove(pair.substring(0, split).trim());
+                    } else {
+                        cookies.put(pair.substring(0, split).trim(), value);
+                    }
+                }
+            }
+            String body = response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : null;
+            return new Response(response.getCode(), headers, setCookies, body);
+        });
+    }
+
+    private static String redirect(Response response) {
+        assertEquals(302, response.status());
+        String location = response.header("Location");
+        assertNotNull(location);
+        return location;
+    }
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    // Resource-server stand-in: body + headers record chesi 201, hop-by-hop / Set-Cookie tho
+    private static HttpServer startDownstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+            server.createContext("/", exchange -> {
+                try (exchange) {
+                    byte[] body = exchange.getRequestBody().readAllBytes();
+                    received.set(new Received(exchange.getRequestMethod(), exchange.getRequestURI().toString(),
+                            exchange.getRequestHeaders(), body));
+                    byte[] answer = "{\"id\":42}".getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.getResponseHeaders().add("Connection", "X-Bar");
+                    exchange.getResponseHeaders().add("X-Bar", "one-hop-only");
+                    exchange.getResponseHeaders().add("X-Photo-Id", "42");
+                    exchange.getResponseHeaders().add("Set-Cookie", "rs-session=leak; Path=/");
+                    exchange.sendResponseHeaders(201, answer.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(answer);
+                    }
+                }
+            });
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return server;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
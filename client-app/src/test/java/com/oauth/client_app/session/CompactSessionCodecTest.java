@@ -0,0 +1,168 @@
+package com.oauth.client_app.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.security.config.oauth2.client.CommonOAuth2Provider;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 🗜️ CompactSessionCodec round trips - store lo raasindi chadivithe login / tokens same ga undali.
+ */
+class CompactSessionCodecTest {
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private final ClientRegistration google = CommonOAuth2Provider.GOOGLE.getBuilder("google")
+            .clientId("client-id")
+            .clientSecret("client-secret")
+            .build();
+    private final CompactSessionCodec codec = new CompactSessionCodec(
+            new InMemoryClientRegistrationRepository(google), getClass().getClassLoader());
+
+    @Test
+    void oidcSecurityContextRoundTrip() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", "https://accounts.google.com");
+        claims.put("sub", "1234567890");
+        claims.put("aud", List.of("client-id"));
+        claims.put("email", "mawa@example.com");
+        claims.put("iat", NOW.getEpochSecond());
+        claims.put("exp", NOW.plusSeconds(3600).getEpochSecond());
+        String rawIdToken = jwt(claims);
+        OidcIdToken idToken = new OidcIdToken(rawIdToken, NOW, NOW.plusSeconds(3600), claims);
+        OidcUserInfo userInfo = new OidcUserInfo(Map.of("sub", "1234567890", "name", "Mawa Test"));
+        List<GrantedAuthority> authorities = List.of(new OidcUserAuthority(idToken, userInfo),
+                new SimpleGrantedAuthority("SCOPE_openid"));
+        OidcUser user = new DefaultOidcUser(authorities, idToken, userInfo, "sub");
+        OAuth2AuthenticationToken authentication = new OAuth2AuthenticationToken(user, authorities, "google");
+        authentication.setDetails(new WebAuthenticationDetails("10.0.0.7", "session-1"));
+
+        Object decoded = codec.decode("SPRING_SECURITY_CONTEXT",
+                codec.encode("SPRING_SECURITY_CONTEXT", new SecurityContextImpl(authentication)));
+
+        OAuth2AuthenticationToken restored = assertInstanceOf(OAuth2AuthenticationToken.class,
+                assertInstanceOf(SecurityContext.class, decoded).getAuthentication());
+        assertEquals("google", restored.getAuthorizedClientRegistrationId());
+        assertEquals("1234567890", restored.getName());
+        assertEquals(List.of("OIDC_USER", "SCOPE_openid"), names(restored.getAuthorities()));
+        OidcUser restoredUser = assertInstanceOf(OidcUser.class, restored.getPrincipal());
+        assertEquals(rawIdToken, restoredUser.getIdToken().getTokenValue());
+        assertEquals("mawa@example.com", restoredUser.getEmail());
+        assertEquals(NOW.plusSeconds(3600), restoredUser.getIdToken().getExpiresAt());
+        assertEquals("Mawa Test", restoredUser.getUserInfo().getFullName());
+        WebAuthenticationDetails details = assertInstanceOf(WebAuthenticationDetails.class, restored.getDetails());
+        assertEquals("10.0.0.7", details.getRemoteAddress());
+        assertEquals("session-1", details.getSessionId());
+    }
+
+    @Test
+    void authorizedClientsRoundTrip() {
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-1",
+                NOW, NOW.plusSeconds(3599), Set.of("openid", "email"));
+        OAuth2RefreshToken refreshToken = new OAuth2RefreshToken("refresh-1", NOW);
+        Map<String, OAuth2AuthorizedClient> clients = Map.of("google",
+                new OAuth2AuthorizedClient(google, "1234567890", accessToken, refreshToken));
+
+        Map<?, ?> decoded = assertInstanceOf(Map.class, codec.decode("clients", codec.encode("clients", clients)));
+
+        OAuth2AuthorizedClient restored = assertInstanceOf(OAuth2AuthorizedClient.class, decoded.get("google"));
+        // Registration store lo ledu - repository nundi same instance
+        assertSame(google, restored.getClientRegistration());
+        assertEquals("1234567890", restored.getPrincipalName());
+        assertEquals("access-1", restored.getAccessToken().getTokenValue());
+        assertEquals(NOW, restored.getAccessToken().getIssuedAt());
+        assertEquals(NOW.plusSeconds(3599), restored.getAccessToken().getExpiresAt());
+        assertEquals(Set.of("openid", "email"), restored.getAccessToken().getScopes());
+        assertEquals("refresh-1", restored.getRefreshToken().getTokenValue());
+        assertEquals(NOW, restored.getRefreshToken().getIssuedAt());
+        assertNull(restored.getRefreshToken().getExpiresAt());
+    }
+
+    @Test
+    void authorizedClientForRemovedRegistrationIsDropped() {
+        ClientRegistration github = CommonOAuth2Provider.GITHUB.getBuilder("github").clientId("gh").build();
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "gh-token",
+                NOW, NOW.plusSeconds(60));
+        byte[] stored = codec.encode("clients",
+                Map.of("github", new OAuth2AuthorizedClient(github, "octocat", accessToken)));
+
+        assertEquals(Map.of(), codec.decode("clients", stored));
+    }
+
+    @Test
+    void otherAttributesUseJavaSerialization() {
+        CsrfToken csrf = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "token-value");
+
+        byte[] stored = codec.encode("csrf", csrf);
+
+        assertEquals((byte) 0xAC, stored[0]);
+        CsrfToken restored = assertInstanceOf(CsrfToken.class, codec.decode("csrf", stored));
+        assertEquals("token-value", restored.getToken());
+        assertEquals("_csrf", restored.getParameterName());
+    }
+
+    @Test
+    void javaFallbackRejectsClassesOutsideAllowList() {
+        byte[] stored = codec.encode("file", new File("/etc/passwd"));
+
+        assertThrows(SerializationFailedException.class, () -> codec.decode("file", stored));
+    }
+
+    @Test
+    void extraAllowedClassesAreDeserialized() {
+        CompactSessionCodec permissive = new CompactSessionCodec(new InMemoryClientRegistrationRepository(google),
+                getClass().getClassLoader(), List.of("java.io.File"));
+
+        Object restored = permissive.decode("file", permissive.encode("file", new File("/tmp/x")));
+
+        assertEquals(new File("/tmp/x"), restored);
+    }
+
+    private static String jwt(Map<String, Object> claims) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(
+                CompactOidcUser.writeJson(claims).getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".signature";
+    }
+
+    private static List<String> names(Iterable<? extends GrantedAuthority> authorities) {
+        List<String> names = new ArrayList<>();
+        authorities.forEach(authority -> names.add(authority.getAuthority()));
+        return names;
+    }
+}
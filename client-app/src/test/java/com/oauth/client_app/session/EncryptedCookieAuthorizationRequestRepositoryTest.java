@@ -0,0 +1,187 @@
+package com.oauth.client_app.session;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.endpoint.PkceParameterNames;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🍪 Login cookie - tamper / vere key / expire / state mismatch aithe null, lekapote state + nonce + PKCE alane.
+ */
+class EncryptedCookieAuthorizationRequestRepositoryTest {
+
+    private static final String COOKIE = "OAUTH2_AUTH_REQUEST";
+    private static final String KEY = key('k');
+
+    private final EncryptedCookieAuthorizationRequestRepository repository =
+            new EncryptedCookieAuthorizationRequestRepository(COOKIE, Duration.ofMinutes(5), KEY);
+
+    @Test
+    void saveAndRemoveRoundTripKeepsNonceAndPkce() {
+        OAuth2AuthorizationRequest original = authorizationRequest("state-1");
+        String value = save(repository, original);
+
+        MockHttpServletRequest callback = callback("state-1", value);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        OAuth2AuthorizationRequest restored = repository.removeAuthorizationRequest(callback, response);
+
+        assertNotNull(restored);
+        assertEquals(original.getAuthorizationUri(), restored.getAuthorizationUri());
+        assertEquals(original.getClientId(), restored.getClientId());
+        assertEquals(original.getRedirectUri(), restored.getRedirectUri());
+        assertEquals("state-1", restored.getState());
+        assertEquals(Set.of("openid", "email"), restored.getScopes());
+        assertEquals(original.getAttributes(), restored.getAttributes());
+        assertEquals("verifier-123", restored.getAttribute(PkceParameterNames.CODE_VERIFIER));
+        assertEquals("nonce-raw", restored.getAttribute(OidcParameterNames.NONCE));
+        assertEquals(original.getAdditionalParameters(), restored.getAdditionalParameters());
+        assertEquals(original.getAuthorizationRequestUri(), restored.getAuthorizationRequestUri());
+        // Single use - callback tarvata cookie delete
+        assertTrue(setCookie(response).contains("Max-Age=0"));
+        assertEquals(1L, repository.stats().get("loaded"));
+    }
+
+    @Test
+    void cookieDoesNotRevealNonceOrVerifier() {
+        String value = save(repository, authorizationRequest("state-1"));
+
+        String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.ISO_8859_1);
+        assertFalse(decoded.contains("verifier-123"));
+        assertFalse(decoded.contains("nonce-raw"));
+    }
+
+    @Test
+    void otherNodeWithSameKeyLoadsIt() {
+        EncryptedCookieAuthorizationRequestRepository otherNode =
+                new EncryptedCookieAuthorizationRequestRepository(COOKIE, Duration.ofMinutes(5), KEY);
+        String value = save(repository, authorizationRequest("state-1"));
+
+        assertNotNull(otherNode.loadAuthorizationRequest(callback("state-1", value)));
+    }
+
+    @Test
+    void tamperedCookieIsRejected() {
+        String value = save(repository, authorizationRequest("state-1"));
+        char last = value.charAt(value.length() - 10);
+        String tampered = value.substring(0, value.length() - 10) + (last == 'A' ? 'B' : 'A')
+                + value.substring(value.length() - 9);
+
+        assertNull(repository.loadAuthorizationRequest(callback("state-1", tampered)));
+        assertNull(repository.loadAuthorizationRequest(callback("state-1", "not-base64!")));
+        assertEquals(2L, repository.stats().get("rejected"));
+    }
+
+    @Test
+    void cookieFromAnotherKeyOrCookieNameIsRejected() {
+        EncryptedCookieAuthorizationRequestRepository foreignKey =
+                new EncryptedCookieAuthorizationRequestRepository(COOKIE, Duration.ofMinutes(5), key('x'));
+        EncryptedCookieAuthorizationRequestRepository otherCookie =
+                new EncryptedCookieAuthorizationRequestRepository("OTHER_COOKIE", Duration.ofMinutes(5), KEY);
+
+        // Cookie name AAD - same key tho vere cookie value paste chesina decrypt avvadu
+        assertNull(repository.loadAuthorizationRequest(
+                callback("state-1", save(foreignKey, authorizationRequest("state-1")))));
+        assertNull(repository.loadAuthorizationRequest(
+                callback("state-1", save(otherCookie, authorizationRequest("state-1")))));
+    }
+
+    @Test
+    void expiredCookieIsRejected() {
+        // max-age already daatindi - issuedAt + maxAge eppudu past lo
+        EncryptedCookieAuthorizationRequestRepository expiring =
+                new EncryptedCookieAuthorizationRequestRepository(COOKIE, Duration.ofSeconds(-1), KEY);
+        String value = save(expiring, authorizationRequest("state-1"));
+
+        assertNull(expiring.loadAuthorizationRequest(callback("state-1", value)));
+        assertEquals(1L, expiring.stats().get("expired"));
+    }
+
+    @Test
+    void stateMismatchOrMissingIsRejected() {
+        String value = save(repository, authorizationRequest("state-1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(repository.removeAuthorizationRequest(callback("state-2", value), response));
+        assertNull(repository.loadAuthorizationRequest(callback(null, value)));
+        // Vere tab login di - ee callback delete cheyakudadu
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void savingNullClearsCookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        repository.saveAuthorizationRequest(null, new MockHttpServletRequest(), response);
+
+        assertTrue(setCookie(response).startsWith(COOKIE + "=;"));
+        assertTrue(setCookie(response).contains("Max-Age=0"));
+    }
+
+    private static OAuth2AuthorizationRequest authorizationRequest(String state) {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("client-id")
+                .redirectUri("http://localhost:8080/login/oauth2/code/google")
+                .state(state)
+                .scopes(Set.of("openid", "email"))
+                .additionalParameters(Map.of(
+                        OidcParameterNames.NONCE, "nonce-hash",
+                        PkceParameterNames.CODE_CHALLENGE, "challenge-abc",
+                        PkceParameterNames.CODE_CHALLENGE_METHOD, "S256",
+                        "access_type", "offline"))
+                .attributes(Map.of(
+                        OAuth2ParameterNames.REGISTRATION_ID, "google",
+                        OidcParameterNames.NONCE, "nonce-raw",
+                        PkceParameterNames.CODE_VERIFIER, "verifier-123"))
+                .build();
+    }
+
+    private static String save(EncryptedCookieAuthorizationRequestRepository repository,
+            OAuth2AuthorizationRequest authorizationRequest) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveAuthorizationRequest(authorizationRequest, new MockHttpServletRequest(), response);
+        String header = setCookie(response);
+        return header.substring(header.indexOf('=') + 1, header.indexOf(';'));
+    }
+
+    private static MockHttpServletRequest callback(String state, String cookieValue) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login/oauth2/code/google");
+        if (state != null) {
+            request.setParameter(OAuth2ParameterNames.STATE, state);
+        }
+        request.setParameter(OAuth2ParameterNames.CODE, "code-1");
+        request.setCookies(new Cookie(COOKIE, cookieValue));
+        return request;
+    }
+
+    private static String setCookie(MockHttpServletResponse response) {
+        List<String> headers = response.getHeaders(HttpHeaders.SET_COOKIE);
+        assertEquals(1, headers.size());
+        return headers.get(0);
+    }
+
+    private static String key(char fill) {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) fill);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
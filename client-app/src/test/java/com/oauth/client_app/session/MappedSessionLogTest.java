@@ -0,0 +1,189 @@
+package com.oauth.client_app.session;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 📜 MappedSessionLog - append / crash / compaction / reopen tarvata records same ga chadavali.
+ */
+class MappedSessionLogTest {
+
+    private static final long INITIAL_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendedRecordsSurviveReopen() throws IOException {
+        Path file = dir.resolve("store/sessions.log");
+        long tail;
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            long first = log.locked(() -> log.append(bytes("alpha")));
+            long second = log.locked(() -> log.append(bytes("beta")));
+            assertEquals(MappedSessionLog.HEADER_SIZE, first);
+            assertEquals(first + MappedSessionLog.frameSize(bytes("alpha")), second);
+            assertEquals("beta", text(log.read(second)));
+            tail = log.tail();
+        }
+
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            assertEquals(tail, log.tail());
+            assertEquals(List.of("alpha", "beta"), scan(log));
+        }
+    }
+
+    @Test
+    void fileGrowsPastInitialSize() throws IOException {
+        Path file = dir.resolve("sessions.log");
+        byte[] big = new byte[3000];
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            for (int i = 0; i < 4; i++) {
+                log.locked(() -> log.append(big));
+            }
+            assertTrue(log.fileSize() >= 4 * MappedSessionLog.frameSize(big) + MappedSessionLog.HEADER_SIZE);
+        }
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            assertEquals(4, scan(log).size());
+        }
+    }
+
+    @Test
+    void halfWrittenRecordPastTailIsIgnoredAndOverwritten() throws IOException {
+        Path file = dir.resolve("sessions.log");
+        long tail;
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            log.locked(() -> log.append(bytes("alpha")));
+            tail = log.tail();
+        }
+        // Crash: frame bytes raasaaru kani tail update kaaledu
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(tail);
+            raw.writeInt(5);
+            raw.writeInt(0xDEAD);
+            raw.write(bytes("tor"));
+        }
+
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            assertEquals(List.of("alpha"), scan(log));
+            assertEquals(tail, log.locked(() -> log.append(bytes("gamma"))));
+            assertEquals(List.of("alpha", "gamma"), scan(log));
+        }
+    }
+
+    @Test
+    void scanStopsAtCorruptFrame() throws IOException {
+        Path file = dir.resolve("sessions.log");
+        long second;
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            log.locked(() -> log.append(bytes("alpha")));
+            second = log.locked(() -> log.append(bytes("beta")));
+            log.locked(() -> log.append(bytes("gamma")));
+        }
+        // "beta" payload lo okka byte maarchu - CRC match avvadu
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(second + 8);
+            raw.write('B');
+        }
+
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            List<String> records = new ArrayList<>();
+            long stoppedAt = log.scan(0, (payload, offset) -> records.add(text(payload)));
+            assertEquals(List.of("alpha"), records);
+            assertEquals(second, stoppedAt);
+            assertEquals(second, log.tail());
+        }
+    }
+
+    @Test
+    void appendAfterCorruptMiddleFrameSurvivesReopen() throws IOException {
+        Path file = dir.resolve("sessions.log");
+        long second;
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            log.locked(() -> log.append(bytes("alpha")));
+            second = log.locked(() -> log.append(bytes("beta")));
+            log.locked(() -> log.append(bytes("gamma")));
+        }
+        // OS crash: tail disk ki vellindi kani "beta" page sagam
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(second + 8);
+            raw.write('B');
+        }
+
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            // Bad frame daggara tail cut - kotha record scan ki reachable position lo
+            assertEquals(second, log.locked(() -> log.append(bytes("delta"))));
+        }
+
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            assertEquals(List.of("alpha", "delta"), scan(log));
+        }
+    }
+
+    @Test
+    void compactionRetiresOldFileForOtherHandles() throws IOException {
+        Path file = dir.resolve("sessions.log");
+        try (MappedSessionLog writer = new MappedSessionLog(file, INITIAL_SIZE);
+                MappedSessionLog other = new MappedSessionLog(file, INITIAL_SIZE)) {
+            writer.locked(() -> writer.append(bytes("alpha")));
+            writer.locked(() -> writer.append(bytes("dead")));
+            writer.locked(() -> writer.append(bytes("gamma")));
+            assertEquals(List.of("alpha", "dead", "gamma"), scan(other));
+
+            long generation = writer.generation();
+            writer.locked(() -> {
+                writer.compactTo(List.of(bytes("alpha"), bytes("gamma")));
+                return null;
+            });
+
+            assertEquals(generation + 1, writer.generation());
+            assertFalse(writer.isRetired());
+            assertEquals(List.of("alpha", "gamma"), scan(writer));
+            // Patha file handle - retired chusi kotha file ki maaruthundi
+            assertTrue(other.isRetired());
+            assertTrue(other.reopenIfRetired());
+            assertEquals(List.of("alpha", "gamma"), scan(other));
+            assertFalse(Files.exists(dir.resolve("sessions.log.compact")));
+        }
+
+        try (MappedSessionLog log = new MappedSessionLog(file, INITIAL_SIZE)) {
+            assertEquals(List.of("alpha", "gamma"), scan(log));
+        }
+    }
+
+    @Test
+    void storeIsPrivateToOwner() throws IOException {
+        Path file = dir.resolve("private/sessions.log");
+        try (MappedSessionLog ignored = new MappedSessionLog(file, INITIAL_SIZE)) {
+            assertEquals(PosixFilePermissions.fromString("rwx------"),
+                    Files.getPosixFilePermissions(file.getParent()));
+            assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(file));
+        }
+    }
+
+    private static List<String> scan(MappedSessionLog log) {
+        List<String> records = new ArrayList<>();
+        log.scan(0, (payload, offset) -> records.add(text(payload)));
+        return records;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}
@@ -10,29 +10,71 @@ function App() {
     const [photos, setPhotos] = useState(null);
     const [photosLoading, setPhotosLoading] = useState(false);
     const [error, setError] = useState(null);
+    const [tokenExpiring, setTokenExpiring] = useState(false);
 
-    // Check login status on page load
+    // Page load lo okka call - status + user + photos backend parallel ga (/api/dashboard)
     useEffect(() => {
-        checkLoginStatus();
+        loadDashboard();
     }, []);
 
-    const checkLoginStatus = async () => {
+    // 📡 Logged in ayyaka polling ledu - backend session changes SSE (/api/events) lo push chestundi
+    const loggedIn = user !== null;
+    useEffect(() => {
+        if (!loggedIn) {
+            return undefined;
+        }
+        const events = new EventSource(`${BACKEND_URL}/api/events`, {
+            withCredentials: true // 🔥 Session cookie
+        });
+        events.addEventListener('login', (event) => {
+            setUser(JSON.parse(event.data));
+            setTokenExpiring(false);
+        });
+        events.addEventListener('token-refreshed', () => setTokenExpiring(false));
+        events.addEventListener('token-expiring', () => setTokenExpiring(true));
+        events.addEventListener('logout', () => {
+            events.close();
+            setUser(null);
+        });
+        // Network blip aithe browser auto reconnect; CLOSED (401 / 503) aithe okkasari status check
+        events.onerror = () => {
+            if (events.readyState === EventSource.CLOSED) {
+                loadDashboard();
+            }
+        };
+        return () => events.close();
+    }, [loggedIn]);
+
+    // 🧩 Status + photos okka round trip lo - photos part fail / timeout aina user card vastundi (partial response)
+    const loadDashboard = async () => {
         try {
-            const response = await fetch(`${BACKEND_URL}/api/user-status`, {
+            const response = await fetch(`${BACKEND_URL}/api/dashboard`, {
                 credentials: 'include' // 🔥 IMPORTANT: Send cookies for session
             });
             const data = await response.json();
 
-            if (data.authenticated) {
-                setUser(data);
-            }
+            setUser(data.status?.authenticated ? data.status : null);
+            showPhotos(data);
         } catch (err) {
-            console.error('Error checking login status:', err);
+            console.error('Error loading dashboard:', err);
         } finally {
             setLoading(false);
         }
     };
 
+    const showPhotos = (data) => {
+        if (data.photos) {
+            if (data.photos.status === 200) {
+                setPhotos(data.photos.body);
+                setError(null);
+            } else {
+                setError('Failed to fetch photos. Status: ' + data.photos.status);
+            }
+        } else if (data.errors?.photos) {
+            setError('Failed to fetch photos: ' + data.errors.photos);
+        }
+    };
+
     // Redirect to Google Login
     const handleLogin = () => {
         // Full page redirect to backend OAuth endpoint
@@ -44,18 +86,17 @@ function App() {
         window.location.href = `${BACKEND_URL}/logout`;
     };
 
-    // Fetch photos from Resource Server (via Backend proxy)
+    // Fetch photos from Resource Server (via Backend proxy) - same /api/dashboard call, kotha request ledu
     const fetchPhotos = async () => {
         setPhotosLoading(true);
         setError(null);
         try {
-            const response = await fetch(`${BACKEND_URL}/api/photos`, {
+            const response = await fetch(`${BACKEND_URL}/api/dashboard`, {
                 credentials: 'include' // 🔥 Include session cookie
             });
 
             if (response.ok) {
-                const data = await response.text();
-                setPhotos(data);
+                showPhotos(await response.json());
             } else {
                 setError('Failed to fetch photos. Status: ' + response.status);
             }
@@ -168,6 +209,9 @@ function App() {
                         <div className="welcome-section">
                             <h1>Welcome back, {user.name?.split(' ')[0]}! 👋</h1>
                             <p className="user-email">{user.email}</p>
+                            {tokenExpiring && (
+                                <p className="error-box">⏳ Session expiring soon - please login again</p>
+                            )}
                         </div>
 
                         <div className="cards-container">
@@ -242,7 +286,7 @@ function App() {
                                     <ol className="flow-steps">
                                         <li>
                                             <span className="step-num">1</span>
-                                            <span>React sent request to <code>/api/photos</code> with session cookie</span>
+                                            <span>React sent request to <code>/api/dashboard</code> with session cookie</span>
                                         </li>
                                         <li>
                                             <span className="step-num">2</span>
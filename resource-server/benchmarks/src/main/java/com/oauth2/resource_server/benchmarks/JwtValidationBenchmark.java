@@ -0,0 +1,125 @@
+package com.oauth2.resource_server.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.security.interfaces.RSAPublicKey;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ JWT VALIDATION PATH BENCHMARK
+ *
+ * oauth2ResourceServer().jwt() prathi request ki em kharchu chestundo -
+ * step by step kolustundi:
+ *
+ * 1. splitAndBase64  - token ni 3 parts ga split + base64url decode
+ * 2. parseJson       - header + claims JSON parse
+ * 3. verifyRs256     - RSA signature verify (google-keys.json laanti key tho)
+ * 4. validators      - issuer + timestamp validators
+ * 5. fullDecode      - SecurityConfig laage wire chesina NimbusJwtDecoder (1-4 anni kalipi)
+ * 6. authorities     - JwtAuthenticationConverter authority mapping matrame
+ *
+ * Offline - keys and tokens anni TokenFixtures lo local ga generate avtayi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private String token;
+    private SignedJWT parsedToken;
+    private RSASSAVerifier verifier;
+    private Jwt decodedJwt;
+    private JwtDecoder jwtDecoder;
+    private OAuth2TokenValidator<Jwt> validator;
+    private JwtAuthenticationConverter authenticationConverter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JOSEException, ParseException {
+        TokenFixtures fixtures = TokenFixtures.create();
+        token = fixtures.idToken;
+        parsedToken = SignedJWT.parse(token);
+        verifier = new RSASSAVerifier((RSAPublicKey) fixtures.signingKey.toRSAKey().toPublicKey());
+        validator = JwtValidators.createDefaultWithIssuer(TokenFixtures.ISSUER);
+
+        // Same wiring as resource-server SecurityConfig (in-memory keys instead of JwksKeyStore)
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(
+                new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, new ImmutableJWKSet<>(fixtures.publicJwks)));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(validator);
+        jwtDecoder = decoder;
+
+        decodedJwt = jwtDecoder.decode(token);
+        authenticationConverter = new JwtAuthenticationConverter();
+    }
+
+    @Benchmark
+    public void splitAndBase64(Blackhole blackhole) {
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        blackhole.consume(new Base64URL(token.substring(0, firstDot)).decode());
+        blackhole.consume(new Base64URL(token.substring(firstDot + 1, secondDot)).decode());
+        blackhole.consume(new Base64URL(token.substring(secondDot + 1)).decode());
+    }
+
+    @Benchmark
+    public void parseJson(Blackhole blackhole) throws ParseException {
+        SignedJWT jwt = SignedJWT.parse(token);
+        blackhole.consume(jwt.getHeader());
+        blackhole.consume(jwt.getJWTClaimsSet());
+    }
+
+    @Benchmark
+    public boolean verifyRs256() throws JOSEException {
+        return verifier.verify(parsedToken.getHeader(), parsedToken.getSigningInput(), parsedToken.getSignature());
+    }
+
+    @Benchmark
+    public OAuth2TokenValidatorResult validators() {
+        return validator.validate(decodedJwt);
+    }
+
+    @Benchmark
+    public Jwt fullDecode() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken authorities() {
+        return authenticationConverter.convert(decodedJwt);
+    }
+}
@@ -0,0 +1,91 @@
+package com.oauth2.resource_server.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 🧪 OFFLINE TOKEN FIXTURES
+ *
+ * Google ki vellakunda - local ga RSA keys generate chesi, google-keys.json
+ * laanti JWKS (RSA, RS256, use=sig, kid) and Google ID token laanti signed JWT
+ * tayaru chestundi.
+ */
+final class TokenFixtures {
+
+    static final String ISSUER = "https://accounts.google.com";
+
+    final RSAKey signingKey;
+    final JWKSet publicJwks;
+    final String idToken;
+
+    private TokenFixtures(RSAKey signingKey, JWKSet publicJwks, String idToken) {
+        this.signingKey = signingKey;
+        this.publicJwks = publicJwks;
+        this.idToken = idToken;
+    }
+
+    static TokenFixtures create() {
+        try {
+            // Google rotates two keys - so the key set has two entries, same as google-keys.json
+            RSAKey active = generateKey("bench-active-kid");
+            RSAKey next = generateKey("bench-next-kid");
+            JWKSet publicJwks = new JWKSet(List.of(next.toPublicJWK(), active.toPublicJWK()));
+            return new TokenFixtures(active, publicJwks, signIdToken(active));
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Could not create benchmark fixtures", ex);
+        }
+    }
+
+    private static RSAKey generateKey(String kid) throws JOSEException {
+        return new RSAKeyGenerator(2048)
+                .keyID(kid)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.RS256)
+                .generate();
+    }
+
+    // Google ID token shape: iss, azp, aud, sub, email, name, picture, iat, exp
+    private static String signIdToken(RSAKey key) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .audience("1234567890-bench.apps.googleusercontent.com")
+                .subject("108234567890123456789")
+                .claim("azp", "1234567890-bench.apps.googleusercontent.com")
+                .claim("email", "bench.user@gmail.com")
+                .claim("email_verified", true)
+                .claim("at_hash", "X8ZyMTgm3x3ovIq4QlZv1g")
+                .claim("name", "Bench User")
+                .claim("picture", "https://lh3.googleusercontent.com/a/bench-user-photo=s96-c")
+                .claim("given_name", "Bench")
+                .claim("family_name", "User")
+                .claim("scope", "openid email profile")
+                .issueTime(Date.from(now))
+                // Long enough that the timestamp validator never fails mid-run
+                .expirationTime(Date.from(now.plus(Duration.ofDays(1))))
+                .build();
+
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(key.getKeyID())
+                .type(JOSEObjectType.JWT)
+                .build();
+
+        SignedJWT jwt = new SignedJWT(header, claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
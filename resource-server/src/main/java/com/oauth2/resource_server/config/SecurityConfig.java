@@ -1,24 +1,74 @@
 package com.oauth2.resource_server.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.oauth2.resource_server.jwt.CachingJwtDecoder;
+import com.oauth2.resource_server.jwt.IssuerRoutingAuthenticationManager;
+import com.oauth2.resource_server.jwt.JwksKeyStore;
+import com.oauth2.resource_server.revocation.RevocationList;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, IssuerRoutingAuthenticationManager issuerRouter)
+            throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
                         .anyRequest().authenticated() // Prathi request ki Token kavalsinde
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(Customizer.withDefaults()) // Enable JWT Token validation
+                        // Token "iss" chusi correct issuer decoder ki route - unknown issuer ki crypto ledu
+                        .authenticationManagerResolver(request -> issuerRouter)
                 );
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    // Verify chesina tokens cache lo - same token malli vaste RSA verify skip
+    @Bean
+    public CachingJwtDecoder jwtDecoder(JwksKeyStore keyStore,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${jwt-cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt-cache.max-ttl:PT1H}") Duration maxTtl) {
+        return new CachingJwtDecoder(nimbusJwtDecoder(keyStore, issuerUri), maximumSize, maxTtl);
+    }
+
+    // Google → pai cached decoder (JwksKeyStore keys); migatha trusted issuers first token ki lazy ga build
+    @Bean
+    public IssuerRoutingAuthenticationManager issuerRouter(CachingJwtDecoder jwtDecoder, RevocationList revocationList,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${jwt-routing.trusted-issuers:${spring.security.oauth2.resourceserver.jwt.issuer-uri}}") Set<String> trustedIssuers,
+            @Value("${jwt-cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt-cache.max-ttl:PT1H}") Duration maxTtl) {
+        return new IssuerRoutingAuthenticationManager(trustedIssuers, Map.of(issuerUri, jwtDecoder), revocationList,
+                maximumSize, maxTtl);
+    }
+
+    // Google keys ni JwksKeyStore nundi teesukuntam - request lo network call undadu
+    private JwtDecoder nimbusJwtDecoder(JwksKeyStore keyStore, String issuerUri) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keyStore));
+        // Claims validation Spring validators chestayi (issuer, exp, nbf)
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
+    }
+}
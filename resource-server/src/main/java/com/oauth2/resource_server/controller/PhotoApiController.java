@@ -0,0 +1,90 @@
+package com.oauth2.resource_server.controller;
+
+import com.oauth2.resource_server.photos.Photo;
+import com.oauth2.resource_server.photos.PhotoCatalog;
+import com.oauth2.resource_server.photos.PhotoPage;
+import com.oauth2.resource_server.photos.PhotoUploadService;
+import com.oauth2.resource_server.photos.PhotoUploadService.UploadResult;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+// JSON API - real "SELECT * FROM photos WHERE user_id = ?" (JWT sub tho)
+@RestController
+public class PhotoApiController {
+
+    private final PhotoCatalog photoCatalog;
+    private final PhotoUploadService uploadService;
+
+    public PhotoApiController(PhotoCatalog photoCatalog, PhotoUploadService uploadService) {
+        this.photoCatalog = photoCatalog;
+        this.uploadService = uploadService;
+    }
+
+    // GET /api/photos?limit=20 → first page, then ?cursor=<nextCursor> for the next one
+    @GetMapping("/api/photos")
+    public PhotoPage listPhotos(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return photoCatalog.page(jwt.getSubject(), cursor, limit);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", ex);
+        }
+    }
+
+    // Raw upload: curl -H 'Content-Type: image/jpeg' --data-binary @photo.jpg /api/photos?title=Beach
+    @PostMapping(path = "/api/photos", consumes = { MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            MediaType.IMAGE_GIF_VALUE, "image/webp" })
+    public ResponseEntity<Photo> uploadRaw(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String title,
+            @RequestHeader("Content-Type") MediaType contentType,
+            HttpServletRequest request) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            return store(jwt, title, contentType.getType() + "/" + contentType.getSubtype(), body);
+        }
+    }
+
+    // Multipart upload: form field "file" (+ optional "title") - part disk lo untundi, heap lo kaadu
+    @PostMapping(path = "/api/photos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Photo> uploadMultipart(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String title,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        String contentType = file.getContentType();
+        if (contentType == null || !PhotoUploadService.ALLOWED_TYPES.contains(contentType)) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only image uploads are allowed");
+        }
+        try (InputStream body = file.getInputStream()) {
+            return store(jwt, title != null ? title : file.getOriginalFilename(), contentType, body);
+        }
+    }
+
+    private ResponseEntity<Photo> store(Jwt jwt, String title, String contentType, InputStream body)
+            throws IOException {
+        UploadResult result;
+        try {
+            result = uploadService.upload(jwt.getSubject(), title, contentType, body);
+        } catch (PhotoUploadService.UploadTooLargeException ex) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage(), ex);
+        }
+        if (!result.created()) {
+            return ResponseEntity.ok(result.photo()); // same bytes already uploaded
+        }
+        return ResponseEntity.created(URI.create("/photos/" + result.photo().id() + "/content"))
+                .body(result.photo());
+    }
+}
@@ -0,0 +1,206 @@
+package com.oauth2.resource_server.controller;
+
+import com.oauth2.resource_server.photos.Photo;
+import com.oauth2.resource_server.photos.PhotoBlobStore;
+import com.oauth2.resource_server.photos.PhotoCatalog;
+import com.oauth2.resource_server.photos.ThumbnailService;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📤 ZERO-COPY PHOTO SERVING
+ *
+ * Mawa! Photo bytes ni heap lo byte[] ga chadavakunda direct ga socket ki pampistam:
+ *
+ * 1. Tomcat sendfile support unte → file path + range request attributes lo pettam,
+ *    Tomcat FileChannel.transferTo tho kernel lone copy chestundi (true sendfile)
+ * 2. Lekapote → FileChannel.transferTo(response channel) - JDK temp direct buffer
+ *    vaadutundi, heap byte[] copy ledu
+ *
+ * Range (single range) → 206, If-None-Match → 304, JWT sub owner kaakapote → 404.
+ */
+@RestController
+public class PhotoContentController {
+
+    // Tomcat-specific request attributes (see Tomcat's Globals / DefaultServlet)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final PhotoCatalog photoCatalog;
+    private final PhotoBlobStore blobStore;
+    private final ThumbnailService thumbnailService;
+
+    public PhotoContentController(PhotoCatalog photoCatalog, PhotoBlobStore blobStore,
+            ThumbnailService thumbnailService) {
+        this.photoCatalog = photoCatalog;
+        this.blobStore = blobStore;
+        this.thumbnailService = thumbnailService;
+    }
+
+    @GetMapping("/photos/{photoId}/content")
+    public void getPhotoContent(@AuthenticationPrincipal Jwt jwt, @PathVariable String photoId,
+            ServletWebRequest webRequest, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        Photo photo = findOwnedPhoto(jwt, photoId);
+
+        Path file = blobStore.pathFor(photo.ownerId(), photo.contentHash());
+        long length;
+        try {
+            length = Files.size(file);
+        } catch (NoSuchFileException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+
+        // Content-addressed → hash ye strong ETag
+        String etag = "\"" + photo.contentHash() + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (webRequest.checkNotModified(etag)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException ex) {
+                ranges = List.of(); // malformed Range → ignore, full body
+            }
+            // Multi-range (multipart/byteranges) support cheyatledu - full body istam, RFC allow chestundi
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException ex) {
+                    start = length; // unsatisfiable
+                }
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(photo.contentType());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat response complete ayyaka kernel sendfile tho file pampistundi
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+        out.flush();
+    }
+
+    // Gallery grid thumbnails: /photos/{id}/thumbnail?size=200
+    // Render pool lo avtundi - Tomcat thread wait cheyadu (async response)
+    @GetMapping("/photos/{photoId}/thumbnail")
+    public CompletableFuture<ResponseEntity<Resource>> getThumbnail(@AuthenticationPrincipal Jwt jwt,
+            @PathVariable String photoId, @RequestParam(defaultValue = "200") int size,
+            ServletWebRequest webRequest) {
+        Photo photo = findOwnedPhoto(jwt, photoId);
+        if (!thumbnailService.isAllowedSize(size)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported thumbnail size");
+        }
+
+        // Variant content-addressed - client daggara already unte render kuda avasaram ledu
+        String etag = "\"" + photo.contentHash() + "-" + size + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<byte[]> thumbnail;
+        try {
+            thumbnail = thumbnailService.thumbnail(photo, size);
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Thumbnail queue full", ex);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not read thumbnail", ex);
+        }
+
+        return thumbnail
+                .<ResponseEntity<Resource>>thenApply(jpeg -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .body(new ByteArrayResource(jpeg)))
+                .exceptionally(ex -> {
+                    // Image maaku ardham kaakapothe matrame 415 - IO / OOM / interrupt server side problem
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof ThumbnailService.UnsupportedImageException) {
+                        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, cause.getMessage(), cause);
+                    }
+                    throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                            "Could not render thumbnail", cause);
+                });
+    }
+
+    // Owner check: vere user photo aithe "not found" - exist avtundo kuda cheppam
+    private Photo findOwnedPhoto(Jwt jwt, String photoId) {
+        return photoCatalog.find(jwt.getSubject(), photoId)
+                .filter(p -> p.contentHash() != null)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,53 @@
+package com.oauth2.resource_server.controller;
+
+import com.oauth2.resource_server.revocation.RevocationList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+// Admin: stolen token ni exp varaku wait cheyakunda ippude champeyadaniki
+@RestController
+public class RevocationController {
+
+    private final RevocationList revocationList;
+    private final Set<String> adminSubjects;
+
+    public RevocationController(RevocationList revocationList,
+            @Value("${revocation.admin-subjects:}") Set<String> adminSubjects) {
+        this.revocationList = revocationList;
+        this.adminSubjects = Set.copyOf(adminSubjects);
+    }
+
+    /**
+     * Body: {"jti": "..."} or {"token": "<raw JWT>"}, optional "expiresAt" (ISO-8601, usually the token exp).
+     */
+    public record RevocationRequest(String jti, String token, Instant expiresAt) {
+    }
+
+    @PostMapping("/internal/revocations")
+    public ResponseEntity<Map<String, Object>> revoke(@AuthenticationPrincipal Jwt jwt,
+            @RequestBody RevocationRequest request) throws IOException {
+        if (!adminSubjects.contains(jwt.getSubject())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a revocation admin");
+        }
+        if (request.jti() != null && !request.jti().isBlank()) {
+            revocationList.revokeJti(request.jti(), request.expiresAt());
+        } else if (request.token() != null && !request.token().isBlank()) {
+            revocationList.revokeToken(request.token(), request.expiresAt());
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "jti or token is required");
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("revoked", true));
+    }
+}
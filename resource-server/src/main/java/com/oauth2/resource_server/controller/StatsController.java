@@ -0,0 +1,44 @@
+package com.oauth2.resource_server.controller;
+
+import com.oauth2.resource_server.jwt.CachingJwtDecoder;
+import com.oauth2.resource_server.jwt.IssuerRoutingAuthenticationManager;
+import com.oauth2.resource_server.jwt.JwksKeyStore;
+import com.oauth2.resource_server.photos.ThumbnailService;
+import com.oauth2.resource_server.revocation.RevocationList;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Internal counters - JWT validation path lo em jarugutundo choodataniki
+@RestController
+public class StatsController {
+
+    private final JwksKeyStore keyStore;
+    private final CachingJwtDecoder jwtDecoder;
+    private final IssuerRoutingAuthenticationManager issuerRouter;
+    private final RevocationList revocationList;
+    private final ThumbnailService thumbnailService;
+
+    public StatsController(JwksKeyStore keyStore, CachingJwtDecoder jwtDecoder,
+            IssuerRoutingAuthenticationManager issuerRouter, RevocationList revocationList,
+            ThumbnailService thumbnailService) {
+        this.keyStore = keyStore;
+        this.jwtDecoder = jwtDecoder;
+        this.issuerRouter = issuerRouter;
+        this.revocationList = revocationList;
+        this.thumbnailService = thumbnailService;
+    }
+
+    @GetMapping("/internal/stats")
+    public Map<String, Object> getStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jwks", keyStore.stats());
+        response.put("tokenCache", jwtDecoder.stats());
+        response.put("issuers", issuerRouter.stats());
+        response.put("revocation", revocationList.stats());
+        response.put("thumbnails", thumbnailService.stats());
+        return response;
+    }
+}
@@ -0,0 +1,122 @@
+package com.oauth2.resource_server.jwt;
+
+import com.oauth2.resource_server.revocation.RevocationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🧭 ISSUER-ROUTING AUTHENTICATION MANAGER
+ *
+ * Mawa! Mana resource-server ki moodu chotla nundi tokens vastayi:
+ * - Google (client-app ID tokens)
+ * - Spring auth-server (http://localhost:9000)
+ * - Keycloak realm (Option2 docker-compose)
+ *
+ * Prathi decoder try chesi chudatam slow + confusing. Instead:
+ * 1. Unverified "iss" ni peek chestam (UnverifiedIssuer - full parse ledu)
+ * 2. Trusted list lo lekapote → crypto ki mundhe reject (401)
+ * 3. Aa issuer decoder ni lazy ga build chesi cache chestam, daaniki route chestam
+ * 4. Verify ayina token revoke ayyindha ani RevocationList lo check (Bloom filter - lock ledu)
+ * 5. Trusted issuer discovery fail aithe 401 "Issuer unavailable" - unhandled 500 kaadu
+ */
+public class IssuerRoutingAuthenticationManager implements AuthenticationManager {
+
+    private static final Logger log = LoggerFactory.getLogger(IssuerRoutingAuthenticationManager.class);
+
+    private final Set<String> trustedIssuers;
+    private final RevocationList revocationList;
+    private final Map<String, CachingJwtDecoder> prebuiltDecoders;
+    private final long cacheMaximumSize;
+    private final Duration cacheMaxTtl;
+
+    private final Map<String, IssuerRoute> routes = new ConcurrentHashMap<>();
+    private final LongAdder untrustedRejections = new LongAdder();
+    private final LongAdder discoveryFailures = new LongAdder();
+
+    /**
+     * @param prebuiltDecoders decoders that are already wired (e.g. Google via JwksKeyStore); every other
+     *                         trusted issuer gets a decoder from its OIDC discovery document on first use
+     */
+    public IssuerRoutingAuthenticationManager(Set<String> trustedIssuers, Map<String, CachingJwtDecoder> prebuiltDecoders,
+            RevocationList revocationList, long cacheMaximumSize, Duration cacheMaxTtl) {
+        this.trustedIssuers = Set.copyOf(trustedIssuers);
+        this.revocationList = revocationList;
+        this.prebuiltDecoders = Map.copyOf(prebuiltDecoders);
+        this.cacheMaximumSize = cacheMaximumSize;
+        this.cacheMaxTtl = cacheMaxTtl;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        BearerTokenAuthenticationToken bearer = (BearerTokenAuthenticationToken) authentication;
+        String issuer = UnverifiedIssuer.peek(bearer.getToken());
+        if (issuer == null) {
+            throw new InvalidBearerTokenException("Token has no issuer");
+        }
+        if (!trustedIssuers.contains(issuer)) {
+            untrustedRejections.increment();
+            log.debug("⛔ Rejecting token from untrusted issuer {}", issuer);
+            throw new InvalidBearerTokenException("Untrusted issuer");
+        }
+        Authentication authenticated;
+        try {
+            authenticated = routes.computeIfAbsent(issuer, this::buildRoute).provider.authenticate(bearer);
+        } catch (AuthenticationException ex) {
+            throw ex;
+        } catch (RuntimeException discoveryFailed) {
+            // Trusted issuer discovery / JWKS fetch fail (IllegalArgumentException, network) - 500 kaadu, 401.
+            // Route cache lone untundi; next token malli discovery try chestundi
+            discoveryFailures.increment();
+            log.warn("⚠️ Issuer {} unavailable: {}", issuer, discoveryFailed.getMessage());
+            throw new InvalidBearerTokenException("Issuer unavailable");
+        }
+        // Cache hit ayina revocation check jaragali - anduke decoder bayata, ikkada
+        Jwt jwt = (Jwt) authenticated.getCredentials();
+        if (revocationList.isRevoked(jwt, bearer.getToken())) {
+            throw new InvalidBearerTokenException("Token has been revoked");
+        }
+        return authenticated;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trustedIssuers", trustedIssuers);
+        stats.put("untrustedRejections", untrustedRejections.sum());
+        stats.put("discoveryFailures", discoveryFailures.sum());
+        Map<String, Object> perIssuer = new LinkedHashMap<>();
+        routes.forEach((issuer, route) -> perIssuer.put(issuer, route.decoder.stats()));
+        stats.put("issuers", perIssuer);
+        return stats;
+    }
+
+    private IssuerRoute buildRoute(String issuer) {
+        CachingJwtDecoder decoder = prebuiltDecoders.get(issuer);
+        if (decoder == null) {
+            // withIssuerLocation discovery first decode lo jarugutundi - startup lo network ledu
+            NimbusJwtDecoder discovered = NimbusJwtDecoder.withIssuerLocation(issuer).build();
+            discovered.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+            decoder = new CachingJwtDecoder(discovered, cacheMaximumSize, cacheMaxTtl);
+        }
+        log.info("🧭 Built JWT decoder route for issuer {}", issuer);
+        return new IssuerRoute(decoder, new JwtAuthenticationProvider(decoder));
+    }
+
+    private record IssuerRoute(CachingJwtDecoder decoder, JwtAuthenticationProvider provider) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.oauth2.resource_server.jwt;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🔑 OFFLINE-FIRST JWKS KEY STORE
+ *
+ * Mawa! Google public keys ni memory lo kid-wise pettukuntam.
+ *
+ * 1. Boot time lo bundled google-keys.json nundi load - network avasaram ledu
+ * 2. Background thread jitter tho periodic ga Google JWKS ni refresh chestundi
+ * 3. Teliyani kid vaste - okka refetch matrame (deduplicated), request wait cheyadu
+ *
+ * Signature verification eppudu I/O kosam wait cheyadu - current snapshot nundi
+ * key select chesi vellipotundi.
+ */
+@Component
+public class JwksKeyStore implements JWKSource<SecurityContext>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyStore.class);
+
+    private static final int CONNECT_TIMEOUT_MS = 2_000;
+    private static final int READ_TIMEOUT_MS = 5_000;
+    private static final int SIZE_LIMIT_BYTES = 64 * 1024;
+
+    private final String jwkSetUri;
+    private final Duration refreshInterval;
+    private final Duration refreshJitter;
+    private final Duration unknownKidCooldown;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "jwks-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Immutable snapshot - readers never lock, refresh swaps the whole thing
+    private volatile Snapshot snapshot;
+
+    private final AtomicReference<CompletableFuture<Void>> inFlightRefresh = new AtomicReference<>();
+    private final AtomicLong lastUnknownKidRefreshNanos = new AtomicLong(Long.MIN_VALUE);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder unknownKidRefreshes = new LongAdder();
+    private final LongAdder totalRefreshNanos = new LongAdder();
+    private final AtomicLong lastRefreshNanos = new AtomicLong();
+    private final AtomicLong maxRefreshNanos = new AtomicLong();
+
+    public JwksKeyStore(
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${jwks.bundled-location:classpath:google-keys.json}") Resource bundledKeys,
+            @Value("${jwks.refresh-interval:PT1H}") Duration refreshInterval,
+            @Value("${jwks.refresh-jitter:PT5M}") Duration refreshJitter,
+            @Value("${jwks.unknown-kid-cooldown:PT30S}") Duration unknownKidCooldown) throws IOException {
+        this.jwkSetUri = jwkSetUri;
+        this.refreshInterval = refreshInterval;
+        this.refreshJitter = refreshJitter;
+        this.unknownKidCooldown = unknownKidCooldown;
+
+        // Boot: bundled file nundi keys - offline start
+        this.snapshot = Snapshot.of(loadBundled(bundledKeys), "bundled");
+        log.info("🔑 JWKS store seeded with {} bundled keys: {}", snapshot.byKid.size(), snapshot.byKid.keySet());
+
+        // First remote refresh soon after boot (within jitter), then every interval
+        scheduleNextRefresh(jitter());
+    }
+
+    // ========== JWKSource - called by Nimbus on every signature check ==========
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        Snapshot current = snapshot;
+        String kid = requestedKid(jwkSelector);
+        List<JWK> matches;
+        if (kid != null) {
+            // Fast path: token header lo kid undi - direct map lookup
+            JWK key = current.byKid.get(kid);
+            matches = key != null && jwkSelector.getMatcher().matches(key) ? List.of(key) : List.of();
+        } else {
+            matches = jwkSelector.select(current.jwkSet);
+        }
+
+        if (!matches.isEmpty()) {
+            hits.increment();
+            return matches;
+        }
+
+        misses.increment();
+        log.debug("🔍 JWKS miss for kid={} - triggering background refetch", kid);
+        refreshOnUnknownKid();
+
+        // Never block: this request fails fast, the next one sees the refreshed keys
+        return List.of();
+    }
+
+    /**
+     * Triggers (or joins) an asynchronous refresh. Only one fetch runs at a time.
+     */
+    public CompletableFuture<Void> refreshAsync() {
+        CompletableFuture<Void> existing = inFlightRefresh.get();
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        if (!inFlightRefresh.compareAndSet(null, created)) {
+            return inFlightRefresh.get();
+        }
+        try {
+            scheduler.execute(() -> {
+                try {
+                    refreshNow();
+                } finally {
+                    inFlightRefresh.set(null);
+                    created.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException shuttingDown) {
+            inFlightRefresh.set(null);
+            created.complete(null);
+        }
+        return created;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long attempts = refreshes.sum() + refreshFailures.sum();
+        stats.put("keys", snapshot.byKid.keySet());
+        stats.put("source", snapshot.source);
+        stats.put("loadedAtMillis", snapshot.loadedAtMillis);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("refreshFailures", refreshFailures.sum());
+        stats.put("unknownKidRefreshes", unknownKidRefreshes.sum());
+        stats.put("lastRefreshMillis", TimeUnit.NANOSECONDS.toMillis(lastRefreshNanos.get()));
+        stats.put("maxRefreshMillis", TimeUnit.NANOSECONDS.toMillis(maxRefreshNanos.get()));
+        stats.put("avgRefreshMillis", attempts == 0 ? 0
+                : TimeUnit.NANOSECONDS.toMillis(totalRefreshNanos.sum() / attempts));
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    // ========== Internals ==========
+
+    private void refreshOnUnknownKid() {
+        long now = System.nanoTime();
+        long last = lastUnknownKidRefreshNanos.get();
+        // Cooldown: forged/random kids cannot turn into a refetch per request
+        if (last != Long.MIN_VALUE && now - last < unknownKidCooldown.toNanos()) {
+            return;
+        }
+        if (lastUnknownKidRefreshNanos.compareAndSet(last, now)) {
+            unknownKidRefreshes.increment();
+            refreshAsync();
+        }
+    }
+
+    private void refreshNow() {
+        long start = System.nanoTime();
+        try {
+            JWKSet fetched = JWKSet.load(URI.create(jwkSetUri).toURL(), CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS, SIZE_LIMIT_BYTES);
+            if (fetched.getKeys().isEmpty()) {
+                // Provider glitch / proxy error page laanti "{"keys":[]}" - swap chesthe prathi token reject
+                throw new IOException("JWKS response has no keys");
+            }
+            snapshot = Snapshot.of(fetched, jwkSetUri);
+            refreshes.increment();
+            log.info("🔄 JWKS refreshed from {} - kids: {}", jwkSetUri, snapshot.byKid.keySet());
+        } catch (Exception ex) {
+            refreshFailures.increment();
+            // Old keys stay in place - stale keys are better than no keys
+            log.warn("⚠️ JWKS refresh from {} failed, keeping {} keys: {}", jwkSetUri, snapshot.byKid.size(),
+                    ex.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            totalRefreshNanos.add(elapsed);
+            lastRefreshNanos.set(elapsed);
+            maxRefreshNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private void scheduleNextRefresh(Duration delay) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        // Failures are already counted and logged in refreshNow() - just keep the cycle going
+        scheduler.schedule(() -> refreshAsync()
+                .whenComplete((ignored, ex) -> scheduleNextRefresh(refreshInterval.plus(jitter()))),
+                delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static String requestedKid(JWKSelector jwkSelector) {
+        Set<String> kids = jwkSelector.getMatcher().getKeyIDs();
+        return kids != null && kids.size() == 1 ? kids.iterator().next() : null;
+    }
+
+    private Duration jitter() {
+        long bound = refreshJitter.toMillis();
+        return bound <= 0 ? Duration.ZERO : Duration.ofMillis(ThreadLocalRandom.current().nextLong(bound));
+    }
+
+    private static JWKSet loadBundled(Resource bundledKeys) throws IOException {
+        try (InputStream in = bundledKeys.getInputStream()) {
+            return JWKSet.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (java.text.ParseException ex) {
+            throw new IOException("Invalid bundled JWKS: " + bundledKeys, ex);
+        }
+    }
+
+    private record Snapshot(JWKSet jwkSet, Map<String, JWK> byKid, String source, long loadedAtMillis) {
+
+        static Snapshot of(JWKSet jwkSet, String source) {
+            Map<String, JWK> byKid = new LinkedHashMap<>();
+            for (JWK key : jwkSet.getKeys()) {
+                if (key.getKeyID() != null) {
+                    byKid.put(key.getKeyID(), key);
+                }
+            }
+            return new Snapshot(jwkSet, Collections.unmodifiableMap(byKid), source, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.oauth2.resource_server.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 👀 UNVERIFIED ISSUER PEEK
+ *
+ * Token ni verify cheyakamundu "ee token evaru ichharu?" telusukovali - correct
+ * decoder ki route cheyadaniki. Full JWT parse (header + claims map + Nimbus objects)
+ * avasaram ledu: payload segment matrame base64 decode chesi, top-level "iss"
+ * string value ni scan chestam.
+ *
+ * ⚠️ Ee value trust cheyakudadu - routing kosam matrame. Signature + issuer
+ * validation tarvata decoder chestundi.
+ */
+final class UnverifiedIssuer {
+
+    private UnverifiedIssuer() {
+    }
+
+    /**
+     * @return the top-level {@code iss} claim, or null if the token is not a JWS or has no string issuer
+     */
+    static String peek(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0) {
+            return null;
+        }
+        byte[] payload;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        try {
+            return findTopLevelString(new String(payload, StandardCharsets.UTF_8), "iss");
+        } catch (NumberFormatException badEscape) {
+            return null;
+        }
+    }
+
+    // Minimal JSON scanner: tracks nesting depth and strings, no object model built
+    static String findTopLevelString(String json, String name) {
+        int depth = 0;
+        boolean expectKey = false;
+        int i = 0;
+        int length = json.length();
+        while (i < length) {
+            char c = json.charAt(i);
+            switch (c) {
+                case '{' -> {
+                    depth++;
+                    expectKey = depth == 1;
+                    i++;
+                }
+                case '[' -> {
+                    depth++;
+                    i++;
+                }
+                case '}', ']' -> {
+                    depth--;
+                    i++;
+                }
+                case ',' -> {
+                    expectKey = depth == 1;
+                    i++;
+                }
+                case '"' -> {
+                    int end = endOfString(json, i);
+                    if (end < 0) {
+                        return null;
+                    }
+                    if (expectKey && depth == 1 && name.equals(unescape(json, i + 1, end))) {
+                        int colon = skipWhitespace(json, end + 1);
+                        if (colon >= length || json.charAt(colon) != ':') {
+                            return null;
+                        }
+                        int value = skipWhitespace(json, colon + 1);
+                        if (value >= length || json.charAt(value) != '"') {
+                            return null; // iss must be a string
+                        }
+                        int valueEnd = endOfString(json, value);
+                        return valueEnd < 0 ? null : unescape(json, value + 1, valueEnd);
+                    }
+                    expectKey = false;
+                    i = end + 1;
+                }
+                default -> i++;
+            }
+        }
+        return null;
+    }
+
+    private static int endOfString(String json, int openQuote) {
+        for (int i = openQuote + 1; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String json, int from) {
+        int i = from;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String unescape(String json, int start, int end) {
+        String raw = json.substring(start, end);
+        if (raw.indexOf('\\') < 0) {
+            return raw;
+        }
+        StringBuilder out = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 >= raw.length()) {
+                out.append(c);
+                continue;
+            }
+            char escaped = raw.charAt(++i);
+            switch (escaped) {
+                case 'n' -> out.append('\n');
+                case 't' -> out.append('\t');
+                case 'r' -> out.append('\r');
+                case 'b' -> out.append('\b');
+                case 'f' -> out.append('\f');
+                case 'u' -> {
+                    if (i + 4 < raw.length()) {
+                        out.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                        i += 4;
+                    }
+                }
+                default -> out.append(escaped); // \" \\ \/
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.oauth2.resource_server.photos;
+
+import java.time.Instant;
+
+/**
+ * One row of the photo catalog - "SELECT * FROM photos WHERE user_id = ?" lo oka row.
+ *
+ * @param contentHash SHA-256 (hex) of the image bytes, null if the photo has no local blob
+ */
+public record Photo(
+        String id,
+        String ownerId,
+        String title,
+        String contentType,
+        long sizeBytes,
+        String contentHash,
+        Instant uploadedAt) {
+}
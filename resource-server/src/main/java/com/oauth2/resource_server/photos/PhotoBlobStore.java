@@ -0,0 +1,133 @@
+package com.oauth2.resource_server.photos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 💾 LOCAL PHOTO BLOB STORE
+ *
+ * Photo bytes local disk lo content-addressed ga untayi:
+ *
+ *   {storage-dir}/users/{sha256(sub)[0..32]}/{hash[0..2]}/{hash}
+ *
+ * Raw sub ni directory name ga vaadam - hash chestam, so ye issuer sub aina safe path.
+ * Ownership check catalog chestundi (Photo.ownerId == JWT sub); ee class
+ * just path resolve chestundi.
+ *
+ * Prathi blob pakkana {hash}.meta (catalog row - id, owner, title, type, size, uploadedAt). Catalog in-memory,
+ * so restart tarvata {@link #loadMetadata()} tho rebuild - lekapote blobs disk lo untayi kani evariki kanipinchavu.
+ */
+@Component
+public class PhotoBlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoBlobStore.class);
+
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String METADATA_SUFFIX = ".meta";
+
+    private final Path usersRoot;
+
+    public PhotoBlobStore(@Value("${photos.storage-dir}") Path storageDir) throws IOException {
+        this.usersRoot = storageDir.toAbsolutePath().normalize().resolve("users");
+        Files.createDirectories(usersRoot);
+        log.info("💾 Photo blobs stored under {}", usersRoot);
+    }
+
+    public Path pathFor(String ownerId, String contentHash) {
+        if (contentHash == null || !CONTENT_HASH.matcher(contentHash).matches()) {
+            throw new IllegalArgumentException("Invalid content hash");
+        }
+        return userDir(ownerId).resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+
+    /**
+     * Catalog row ni blob pakkana raastundi - temp file + atomic move, so boot lo half-written .meta chadavam.
+     */
+    public void writeMetadata(Photo photo) throws IOException {
+        Path target = metadataPath(photo);
+        Properties row = new Properties();
+        row.setProperty("id", photo.id());
+        row.setProperty("owner", photo.ownerId());
+        row.setProperty("title", photo.title());
+        row.setProperty("contentType", photo.contentType());
+        row.setProperty("size", Long.toString(photo.sizeBytes()));
+        row.setProperty("uploadedAt", photo.uploadedAt().toString());
+        Path temp = Files.createTempFile(target.getParent(), photo.contentHash(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                row.store(writer, null);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Boot lo catalog rebuild kosam - blob unna .meta rows anni. Blob ledu / chadavaleni row skip (log matrame).
+     */
+    public List<Photo> loadMetadata() throws IOException {
+        List<Photo> photos = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(usersRoot)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(METADATA_SUFFIX)) {
+                    continue;
+                }
+                String contentHash = name.substring(0, name.length() - METADATA_SUFFIX.length());
+                try {
+                    Properties row = new Properties();
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        row.load(reader);
+                    }
+                    Photo photo = new Photo(row.getProperty("id"), row.getProperty("owner"),
+                            row.getProperty("title"), row.getProperty("contentType"),
+                            Long.parseLong(row.getProperty("size")), contentHash,
+                            Instant.parse(row.getProperty("uploadedAt")));
+                    if (photo.id() == null || photo.ownerId() == null
+                            || !Files.isRegularFile(pathFor(photo.ownerId(), contentHash))) {
+                        log.warn("⚠️ Skipping photo metadata without blob: {}", file);
+                        continue;
+                    }
+                    photos.add(photo);
+                } catch (RuntimeException ex) {
+                    log.warn("⚠️ Skipping unreadable photo metadata {}: {}", file, ex.toString());
+                }
+            }
+        }
+        return photos;
+    }
+
+    private Path metadataPath(Photo photo) {
+        Path blob = pathFor(photo.ownerId(), photo.contentHash());
+        return blob.resolveSibling(photo.contentHash() + METADATA_SUFFIX);
+    }
+
+    public Path userDir(String ownerId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(ownerId.getBytes(StandardCharsets.UTF_8));
+            return usersRoot.resolve(HexFormat.of().formatHex(digest, 0, 16));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
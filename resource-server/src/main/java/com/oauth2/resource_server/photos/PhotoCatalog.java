@@ -0,0 +1,159 @@
+package com.oauth2.resource_server.photos;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 📚 IN-MEMORY PHOTO CATALOG
+ *
+ * Mawa! Idi mana "photos table" - JWT sub (user id) tho shard chesam.
+ *
+ * Prathi user ki oka shard:
+ * - byId   → photo id nundi direct lookup (primary key)
+ * - byTime → upload time index (newest first) - keyset pagination kosam
+ * - byHash → content hash index - same photo malli upload aithe dedupe kosam
+ *
+ * Listing eppudu cursor nundi start chesi page size varaku matrame chaduvutundi -
+ * user ki 50,000 photos unna O(log n + page). Readers lock teesukoru;
+ * uploads concurrent ga jarigina skip list weakly-consistent ga iterate chestundi.
+ *
+ * Durable copy blob store lo (.meta rows) - boot lo PhotoUploadService ikkada ki reload chestundi.
+ */
+@Component
+public class PhotoCatalog {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Newest first; same millisecond aithe id tho tie-break - cursor unique ga untundi
+    private static final Comparator<TimeKey> NEWEST_FIRST = Comparator
+            .comparingLong(TimeKey::uploadedAtMillis).reversed()
+            .thenComparing(TimeKey::photoId);
+
+    private final Map<String, UserShard> shards = new ConcurrentHashMap<>();
+
+    public Photo add(Photo photo) {
+        UserShard shard = shards.computeIfAbsent(photo.ownerId(), id -> new UserShard());
+        if (photo.contentHash() != null) {
+            // Same user, same bytes → existing photo ne return (dedupe)
+            Photo sameContent = shard.byHash.putIfAbsent(photo.contentHash(), photo);
+            if (sameContent != null) {
+                return sameContent;
+            }
+        }
+        Photo existing = shard.byId.putIfAbsent(photo.id(), photo);
+        if (existing != null) {
+            if (photo.contentHash() != null) {
+                shard.byHash.remove(photo.contentHash(), photo);
+            }
+            return existing;
+        }
+        shard.byTime.put(TimeKey.of(photo), photo);
+        if (shard.byId.get(photo.id()) != photo) {
+            // Concurrent remove() ran in between - index lo orphan undakudadu
+            shard.byTime.remove(TimeKey.of(photo), photo);
+            if (photo.contentHash() != null) {
+                shard.byHash.remove(photo.contentHash(), photo);
+            }
+        }
+        return photo;
+    }
+
+    public Optional<Photo> find(String ownerId, String photoId) {
+        UserShard shard = shards.get(ownerId);
+        return shard == null ? Optional.empty() : Optional.ofNullable(shard.byId.get(photoId));
+    }
+
+    public Optional<Photo> findByContentHash(String ownerId, String contentHash) {
+        UserShard shard = shards.get(ownerId);
+        return shard == null ? Optional.empty() : Optional.ofNullable(shard.byHash.get(contentHash));
+    }
+
+    public Optional<Photo> remove(String ownerId, String photoId) {
+        UserShard shard = shards.get(ownerId);
+        if (shard == null) {
+            return Optional.empty();
+        }
+        Photo removed = shard.byId.remove(photoId);
+        if (removed != null) {
+            shard.byTime.remove(TimeKey.of(removed));
+            if (removed.contentHash() != null) {
+                shard.byHash.remove(removed.contentHash(), removed);
+            }
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    public int count(String ownerId) {
+        UserShard shard = shards.get(ownerId);
+        return shard == null ? 0 : shard.byId.size();
+    }
+
+    /**
+     * Keyset pagination: cursor lo last photo (uploadedAt, id) untundi,
+     * next page aa key tarvata nundi start avtundi - offset scan ledu.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public PhotoPage page(String ownerId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        UserShard shard = shards.get(ownerId);
+        if (shard == null) {
+            return new PhotoPage(List.of(), null);
+        }
+
+        NavigableMap<TimeKey, Photo> view = cursor == null || cursor.isBlank()
+                ? shard.byTime
+                : shard.byTime.tailMap(decodeCursor(cursor), false);
+
+        List<Photo> items = new ArrayList<>(pageSize);
+        Iterator<Photo> iterator = view.values().iterator();
+        while (iterator.hasNext() && items.size() < pageSize) {
+            items.add(iterator.next());
+        }
+
+        String nextCursor = iterator.hasNext() ? encodeCursor(TimeKey.of(items.get(items.size() - 1))) : null;
+        return new PhotoPage(List.copyOf(items), nextCursor);
+    }
+
+    // ========== Cursor = base64url("uploadedAtMillis:photoId") ==========
+
+    private static String encodeCursor(TimeKey key) {
+        String raw = key.uploadedAtMillis() + ":" + key.photoId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TimeKey decodeCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new TimeKey(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+    }
+
+    private record TimeKey(long uploadedAtMillis, String photoId) {
+
+        static TimeKey of(Photo photo) {
+            Instant uploadedAt = photo.uploadedAt();
+            return new TimeKey(uploadedAt.toEpochMilli(), photo.id());
+        }
+    }
+
+    private static final class UserShard {
+        final Map<String, Photo> byId = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<TimeKey, Photo> byTime = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+        final Map<String, Photo> byHash = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,11 @@
+package com.oauth2.resource_server.photos;
+
+import java.util.List;
+
+/**
+ * One page of a user's photos, newest first.
+ *
+ * @param nextCursor pass this back as ?cursor= to get the next page, null on the last page
+ */
+public record PhotoPage(List<Photo> items, String nextCursor) {
+}
@@ -0,0 +1,321 @@
+package com.oauth2.resource_server.photos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 🖼️ THUMBNAIL PIPELINE
+ *
+ * Mawa! Gallery grid 200x200 images chupistundi - original 5 MB photo pampadam waste.
+ *
+ * 1. Variant key = (content hash, size) → disk lo {cache-dir}/{hash[0..2]}/{hash}-{size}.jpg
+ * 2. Cache lo unte direct ga aa file bytes - render ledu
+ * 3. Lekapote bounded ForkJoinPool lo ImageIO tho resize (request thread lo kaadu!)
+ * 4. Same variant ki concurrent requests vaste - okka render matrame, andaru share chestaru
+ * 5. Cache total bytes limit daatithe least-recently-used files delete avtayi
+ *
+ * Decode ki mundu ImageReader tho header lo dimensions matrame chaduvutam - max-source-pixels daatithe reject
+ * (chinna PNG 50k x 50k declare chesi heap motham adagakunda). Decode center crop + subsampling tho,
+ * thumbnail ki kavalsina resolution (2x) matrame memory lo.
+ *
+ * Caller ki path kaadu bytes istam (thumbnails chinnavi) - serve chesetappudu vere render evict chesi
+ * file delete chesina response madhyalo aagadu. Cache hit file already delete aithe (NoSuchFile) malli render.
+ */
+@Component
+public class ThumbnailService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private final PhotoBlobStore blobStore;
+    private final Path cacheDir;
+    private final long maxCacheBytes;
+    private final Set<Integer> allowedSizes;
+    private final long maxSourcePixels;
+    private final ForkJoinPool renderPool;
+    // Queue bound - render backlog ekkuva aithe reject, memory lo images pile avvakudadu
+    private final Semaphore renderPermits;
+
+    // Single-flight: variant key → in-progress render
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    // LRU index of cached files (access order) - guarded by itself
+    private final LinkedHashMap<Path, Long> lru = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder sharedRenders = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejectedSources = new LongAdder();
+
+    /**
+     * The source is not a decodable image, or declares more pixels than {@code thumbnails.max-source-pixels}.
+     */
+    public static class UnsupportedImageException extends IOException {
+        public UnsupportedImageException(String message) {
+            super(message);
+        }
+    }
+
+    public ThumbnailService(PhotoBlobStore blobStore,
+            @Value("${thumbnails.cache-dir}") Path cacheDir,
+            @Value("${thumbnails.max-cache-size:512MB}") DataSize maxCacheSize,
+            @Value("${thumbnails.sizes:100,200,400}") Set<Integer> allowedSizes,
+            @Value("${thumbnails.max-source-pixels:100000000}") long maxSourcePixels,
+            @Value("${thumbnails.parallelism:0}") int parallelism,
+            @Value("${thumbnails.max-queued:256}") int maxQueued) throws IOException {
+        this.blobStore = blobStore;
+        this.cacheDir = cacheDir.toAbsolutePath().normalize();
+        this.maxCacheBytes = maxCacheSize.toBytes();
+        this.allowedSizes = Set.copyOf(allowedSizes);
+        this.maxSourcePixels = maxSourcePixels;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.renderPool = new ForkJoinPool(threads);
+        this.renderPermits = new Semaphore(maxQueued);
+
+        Files.createDirectories(this.cacheDir);
+        loadExistingCache();
+    }
+
+    public boolean isAllowedSize(int size) {
+        return allowedSizes.contains(size);
+    }
+
+    /**
+     * Returns the JPEG bytes of this photo's thumbnail, rendering it off the request thread if needed.
+     * The future fails with {@link UnsupportedImageException} when the source cannot be thumbnailed.
+     *
+     * @throws RejectedExecutionException if the render backlog is full
+     */
+    public CompletableFuture<byte[]> thumbnail(Photo photo, int size) throws IOException {
+        if (!isAllowedSize(size)) {
+            throw new IllegalArgumentException("Unsupported thumbnail size: " + size);
+        }
+        Path target = variantPath(photo.contentHash(), size);
+        if (touch(target)) {
+            try {
+                byte[] cached = Files.readAllBytes(target);
+                cacheHits.increment();
+                return CompletableFuture.completedFuture(cached);
+            } catch (NoSuchFileException ex) {
+                // touch tarvata evict ayyindi - kinda render chestam
+            }
+        }
+
+        String key = photo.contentHash() + "-" + size;
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            sharedRenders.increment();
+            return existing;
+        }
+
+        if (!renderPermits.tryAcquire()) {
+            inFlight.remove(key, created);
+            throw new RejectedExecutionException("Thumbnail render queue is full");
+        }
+        Path source = blobStore.pathFor(photo.ownerId(), photo.contentHash());
+        renderPool.execute(() -> {
+            try {
+                byte[] jpeg = render(source, target, size);
+                renders.increment();
+                created.complete(jpeg);
+            } catch (Throwable ex) {
+                created.completeExceptionally(ex);
+            } finally {
+                renderPermits.release();
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (lru) {
+            stats.put("cachedFiles", lru.size());
+            stats.put("cachedBytes", cachedBytes);
+        }
+        stats.put("maxCacheBytes", maxCacheBytes);
+        stats.put("cacheHits", cacheHits.sum());
+        stats.put("renders", renders.sum());
+        stats.put("sharedRenders", sharedRenders.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("rejectedSources", rejectedSources.sum());
+        stats.put("inFlight", inFlight.size());
+        stats.put("poolActiveThreads", renderPool.getActiveThreadCount());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        renderPool.shutdownNow();
+    }
+
+    // ========== Rendering ==========
+
+    private byte[] render(Path source, Path target, int size) throws IOException {
+        BufferedImage square = decodeCenterSquare(source, size);
+
+        BufferedImage thumbnail = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(square, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream(16 * 1024);
+        if (!ImageIO.write(thumbnail, "jpg", jpeg)) {
+            throw new IOException("No JPEG writer available");
+        }
+        byte[] bytes = jpeg.toByteArray();
+
+        // Temp file lo raasi atomic move - half-written thumbnail evariki kanipinchadu
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        record(target, bytes.length);
+        return bytes;
+    }
+
+    // Header nundi dimensions → pixel budget check → center square crop ni subsampling tho decode
+    // (thumbnail size ki 2x varaku - bilinear scale ki saripotundi, full-resolution raster eppudu ledu)
+    private BufferedImage decodeCenterSquare(Path source, int size) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                rejectedSources.increment();
+                throw new UnsupportedImageException("Unsupported image format: " + source.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxSourcePixels) {
+                    rejectedSources.increment();
+                    throw new UnsupportedImageException("Image " + width + "x" + height + " exceeds "
+                            + maxSourcePixels + " pixels: " + source.getFileName());
+                }
+
+                // Center square crop - gallery tiles are square
+                int side = Math.min(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                int step = Math.max(1, side / (size * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException ex) {
+                // Plugin decode fail - corrupt / truncated image data, disk problem kaadu
+                rejectedSources.increment();
+                throw new UnsupportedImageException("Could not decode " + source.getFileName() + ": " + ex.getMessage());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // ========== LRU disk cache ==========
+
+    private Path variantPath(String contentHash, int size) {
+        return cacheDir.resolve(contentHash.substring(0, 2)).resolve(contentHash + "-" + size + ".jpg");
+    }
+
+    private boolean touch(Path file) {
+        synchronized (lru) {
+            return lru.get(file) != null;
+        }
+    }
+
+    private void record(Path file, long bytes) {
+        List<Path> victims = new ArrayList<>();
+        synchronized (lru) {
+            Long previous = lru.put(file, bytes);
+            cachedBytes += bytes - (previous != null ? previous : 0);
+            Iterator<Map.Entry<Path, Long>> eldest = lru.entrySet().iterator();
+            while (cachedBytes > maxCacheBytes && eldest.hasNext()) {
+                Map.Entry<Path, Long> entry = eldest.next();
+                if (entry.getKey().equals(file)) {
+                    continue; // just rendered - keep it
+                }
+                cachedBytes -= entry.getValue();
+                victims.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        // File delete lock bayata - disk I/O tho LRU lock hold cheyakudadu
+        for (Path victim : victims) {
+            try {
+                Files.deleteIfExists(victim);
+                evictions.increment();
+            } catch (IOException ex) {
+                log.warn("⚠️ Could not evict thumbnail {}: {}", victim, ex.getMessage());
+            }
+        }
+    }
+
+    // Restart tarvata existing thumbnails ni LRU lo malli load (oldest modified first)
+    private void loadExistingCache() throws IOException {
+        List<Map.Entry<Path, BasicFileAttributes>> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(cacheDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(path);
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    files.add(Map.entry(path, attributes));
+                }
+            }
+        }
+        files.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+        for (Map.Entry<Path, BasicFileAttributes> entry : files) {
+            record(entry.getKey(), entry.getValue().size());
+        }
+        log.info("🖼️ Thumbnail cache: {} files, {} bytes under {}", files.size(), cachedBytes, cacheDir);
+    }
+}
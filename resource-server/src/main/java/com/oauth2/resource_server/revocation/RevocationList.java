@@ -0,0 +1,299 @@
+package com.oauth2.resource_server.revocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 🚫 TOKEN REVOCATION DENY-LIST
+ *
+ * Mawa! JWT exp varaku valid - stolen token ni champadaniki issuer ni prathi request
+ * lo adagalem. So local deny-list:
+ *
+ * 1. Revoked keys ("jti:..." leda "sha256:<token digest>") file + admin endpoint nundi vastayi
+ * 2. Prathi request: Bloom filter lo k bit probes - lock ledu, allocation ledu (almost every request ikkade aagipotundi)
+ * 3. Filter "maybe" ante matrame exact map lo check - false positive ni ikkada catch chestam
+ * 4. Background sweep expired entries teesesi, kotha filter build chesi volatile swap
+ *
+ * Writers (admin, sweep) okka lock teesukuntayi - readers eppudu lock cheyyaru.
+ */
+@Component
+public class RevocationList implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationList.class);
+
+    static final String JTI_PREFIX = "jti:";
+    static final String TOKEN_PREFIX = "sha256:";
+
+    private final Path file;
+    private final Duration defaultTtl;
+    private final int minCapacity;
+    private final double falsePositiveRate;
+
+    // Exact source of truth: key → revocation expiry (token exp daatina tarvata entry avasaram ledu)
+    private final Map<String, Instant> entries = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile BloomFilter filter;
+    // Token-digest entries lekapote SHA-256 compute cheyalsina pani ledu
+    private volatile int tokenDigestEntries;
+    private FileTime lastLoadedModified;
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "revocation-sweep");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public RevocationList(@Value("${revocation.file}") Path file,
+            @Value("${revocation.default-ttl:PT24H}") Duration defaultTtl,
+            @Value("${revocation.sweep-interval:PT1M}") Duration sweepInterval,
+            @Value("${revocation.expected-entries:1024}") int expectedEntries,
+            @Value("${revocation.false-positive-rate:0.01}") double falsePositiveRate) throws IOException {
+        this.file = file.toAbsolutePath().normalize();
+        this.defaultTtl = defaultTtl;
+        this.minCapacity = Math.max(16, expectedEntries);
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(minCapacity, falsePositiveRate);
+
+        Files.createDirectories(this.file.getParent());
+        synchronized (writeLock) {
+            reloadFileIfChanged();
+        }
+        log.info("🚫 Revocation list loaded {} entries from {}", entries.size(), this.file);
+
+        long intervalMillis = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hot path - called for every authenticated request, including token-cache hits.
+     */
+    public boolean isRevoked(Jwt jwt, String token) {
+        checks.increment();
+        BloomFilter current = filter;
+        String jti = jwt.getId();
+        if (jti != null && confirm(current, JTI_PREFIX + jti)) {
+            rejections.increment();
+            return true;
+        }
+        if (tokenDigestEntries > 0 && confirm(current, TOKEN_PREFIX + digest(token))) {
+            rejections.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void revokeJti(String jti, Instant expiresAt) throws IOException {
+        revoke(JTI_PREFIX + jti, expiresAt);
+    }
+
+    public void revokeToken(String token, Instant expiresAt) throws IOException {
+        revoke(TOKEN_PREFIX + digest(token), expiresAt);
+    }
+
+    public Map<String, Object> stats() {
+        BloomFilter current = filter;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("filterBits", current.numBits());
+        stats.put("filterHashes", current.numHashes());
+        stats.put("filterCapacity", current.capacity());
+        stats.put("checks", checks.sum());
+        stats.put("filterHits", filterHits.sum());
+        stats.put("falsePositives", falsePositives.sum());
+        stats.put("rejections", rejections.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+    }
+
+    // ========== Internals ==========
+
+    private boolean confirm(BloomFilter current, String key) {
+        if (!current.mightContain(key)) {
+            return false;
+        }
+        filterHits.increment();
+        if (entries.containsKey(key)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    private void revoke(String key, Instant expiresAt) throws IOException {
+        Instant expiry = expiresAt != null ? expiresAt : Instant.now().plus(defaultTtl);
+        synchronized (writeLock) {
+            // Ops edits mundu apply - lekapote append tarvata mtime match ayyi aa edit miss avtundi
+            reloadFileIfChanged();
+            // File first, memory tarvata: append fail aithe error + memory lo kuda revoke ledu (restart tarvata
+            // maayamayye "revoked" entry undadu)
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(key + " " + expiry.getEpochSecond());
+                writer.newLine();
+            }
+            lastLoadedModified = Files.getLastModifiedTime(file);
+            add(key, expiry);
+        }
+        log.info("🚫 Revoked {} until {}", key, expiry);
+    }
+
+    // Caller holds writeLock. Exact map first, then bits - filter hit eppudu map lo entry chustundi
+    private void add(String key, Instant expiry) {
+        if (!expiry.isAfter(Instant.now())) {
+            return;
+        }
+        Instant previous = entries.get(key);
+        if (previous != null) {
+            if (expiry.isAfter(previous)) {
+                entries.put(key, expiry); // bits already set - expiry matrame extend
+            }
+            return;
+        }
+        entries.put(key, expiry);
+        if (key.startsWith(TOKEN_PREFIX)) {
+            tokenDigestEntries++;
+        }
+        if (entries.size() > filter.capacity()) {
+            rebuild(); // false-positive rate kapadataniki capacity double
+        } else {
+            filter.put(key);
+        }
+    }
+
+    // Package-private: tests sweep ni direct ga nadipistayi, scheduler kosam wait cheyyakunda
+    void sweep() {
+        try {
+            synchronized (writeLock) {
+                reloadFileIfChanged();
+                Instant now = Instant.now();
+                boolean removed = entries.values().removeIf(expiry -> !expiry.isAfter(now));
+                if (removed) {
+                    rebuild();
+                    compactFile();
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("⚠️ Revocation sweep failed: {}", ex.getMessage());
+        }
+    }
+
+    // Caller holds writeLock. Fresh filter sized for what is left, then one volatile swap
+    private void rebuild() {
+        int capacity = Math.max(minCapacity, Integer.highestOneBit(Math.max(1, entries.size())) * 2);
+        BloomFilter fresh = new BloomFilter(capacity, falsePositiveRate);
+        int digests = 0;
+        for (String key : entries.keySet()) {
+            fresh.put(key);
+            if (key.startsWith(TOKEN_PREFIX)) {
+                digests++;
+            }
+        }
+        filter = fresh;
+        tokenDigestEntries = digests;
+        rebuilds.increment();
+    }
+
+    // Caller holds writeLock. Expired lines file lo perugakunda - live entries tho rewrite + atomic move
+    private void compactFile() throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Instant> entry : entries.entrySet()) {
+                    writer.write(entry.getKey() + " " + entry.getValue().getEpochSecond());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            lastLoadedModified = Files.getLastModifiedTime(file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Caller holds writeLock. File lines: "<key> <expiresAtEpochSeconds>" - ops direct ga edit cheyochu.
+    // File ye source of truth: maarithe entries motham file nundi rebuild - line teesesthe un-revoke kuda avtundi
+    private void reloadFileIfChanged() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        FileTime modified = Files.getLastModifiedTime(file);
+        if (modified.equals(lastLoadedModified)) {
+            return;
+        }
+        Map<String, Instant> loaded = new HashMap<>();
+        Instant now = Instant.now();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            if (parts.length != 2 || !(parts[0].startsWith(JTI_PREFIX) || parts[0].startsWith(TOKEN_PREFIX))) {
+                log.warn("⚠️ Skipping malformed revocation line: {}", trimmed);
+                continue;
+            }
+            try {
+                Instant expiry = Instant.ofEpochSecond(Long.parseLong(parts[1]));
+                if (expiry.isAfter(now)) {
+                    loaded.merge(parts[0], expiry, (a, b) -> a.isAfter(b) ? a : b);
+                }
+            } catch (NumberFormatException ex) {
+                log.warn("⚠️ Skipping malformed revocation line: {}", trimmed);
+            }
+        }
+        // Kotha / extend ayina entries mundu (map first, then bits - add() laane), tarvata file lo leni vi teesestam
+        entries.putAll(loaded);
+        entries.keySet().retainAll(loaded.keySet());
+        rebuild();
+        lastLoadedModified = modified;
+    }
+
+    // Same digest as CachingJwtDecoder keys - "sha256:" entries token text ni store cheyavu
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
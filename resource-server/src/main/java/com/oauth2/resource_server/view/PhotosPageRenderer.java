@@ -0,0 +1,185 @@
+package com.oauth2.resource_server.view;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🖼️ PRE-COMPILED PHOTOS PAGE RENDERER
+ *
+ * Mawa! /photos page lo 95% static HTML. Prathi request ki StringBuilder tho
+ * malli build chesi, String chesi, malli bytes ga encode cheyadam waste.
+ *
+ * Startup lo template ni {{slot}} daggara split chesi static parts ni UTF-8 byte[]
+ * ga ready pettukuntam. Request time lo static bytes + escaped user values ni
+ * direct ga response OutputStream ki raastam.
+ *
+ * ETag kuda user values nundi compute chestam - same user malli vaste 304, render ledu.
+ */
+@Component
+public class PhotosPageRenderer {
+
+    private enum Slot {
+        USER_ID, EMAIL, NAME, SHORT_ID
+    }
+
+    private static final Pattern SLOT_PATTERN = Pattern.compile("\\{\\{([A-Z_]+)}}");
+
+    private static final byte[] AMP = "&amp;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LT = "&lt;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GT = "&gt;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] QUOT = "&quot;".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] APOS = "&#39;".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String TEMPLATE = ""
+            + "<div style='font-family: Arial; padding: 20px; max-width: 800px;'>"
+
+            // Title
+            + "<h1 style='color: #6366f1;'>📸 Your Personal Photo Gallery</h1>"
+
+            // Success Box
+            + "<div style='background: #e8f5e9; padding: 15px; border-radius: 8px; margin: 15px 0; border-left: 4px solid #4caf50;'>"
+            + "<h3 style='color: #2e7d32; margin: 0;'>✅ JWT Successfully Validated!</h3>"
+            + "<p style='margin: 10px 0 0 0;'>Resource Server verified your identity using Google's public keys.</p>"
+            + "</div>"
+
+            // User Identity Table
+            + "<h2>👤 Your Identity (from JWT):</h2>"
+            + "<table style='border-collapse: collapse; width: 100%; margin: 15px 0;'>"
+            + "<tr style='background: #f5f5f5;'><td style='padding: 10px; border: 1px solid #ddd;'><strong>User ID</strong></td>"
+            + "<td style='padding: 10px; border: 1px solid #ddd;'><code>{{USER_ID}}</code></td></tr>"
+            + "<tr><td style='padding: 10px; border: 1px solid #ddd;'><strong>Email</strong></td>"
+            + "<td style='padding: 10px; border: 1px solid #ddd;'>{{EMAIL}}</td></tr>"
+            + "<tr style='background: #f5f5f5;'><td style='padding: 10px; border: 1px solid #ddd;'><strong>Name</strong></td>"
+            + "<td style='padding: 10px; border: 1px solid #ddd;'>{{NAME}}</td></tr>"
+            + "</table>"
+
+            // SQL Query Example
+            + "<div style='background: #fff3e0; padding: 15px; border-radius: 8px; margin: 15px 0; border-left: 4px solid #ff9800;'>"
+            + "<h3 style='color: #e65100; margin: 0;'>💡 How User ID is Used in Real Apps:</h3>"
+            + "<p style='margin: 10px 0;'><code>SELECT * FROM photos WHERE user_id = '{{USER_ID}}'</code></p>"
+            + "<p style='margin: 0;'>This User ID uniquely identifies YOU. Only YOUR photos are fetched!</p>"
+            + "</div>"
+
+            // Actual Photos Grid - User ID seed so each user sees different photos!
+            + "<h2>🖼️ Your Photos (Personalized for User {{SHORT_ID}}...):</h2>"
+            + "<div style='display: grid; grid-template-columns: repeat(3, 1fr); gap: 15px; margin: 20px 0;'>"
+
+            // Photo 1
+            + "<div style='text-align: center;'>"
+            + "<img src='https://picsum.photos/seed/{{USER_ID}}a/200/200' style='border-radius: 12px; box-shadow: 0 4px 12px rgba(0,0,0,0.15);' />"
+            + "<p style='margin: 8px 0 0; color: #666;'>Beach Vacation 🏖️</p></div>"
+
+            // Photo 2
+            + "<div style='text-align: center;'>"
+            + "<img src='https://picsum.photos/seed/{{USER_ID}}b/200/200' style='border-radius: 12px; box-shadow: 0 4px 12px rgba(0,0,0,0.15);' />"
+            + "<p style='margin: 8px 0 0; color: #666;'>Mountain Trip 🏔️</p></div>"
+
+            // Photo 3
+            + "<div style='text-align: center;'>"
+            + "<img src='https://picsum.photos/seed/{{USER_ID}}c/200/200' style='border-radius: 12px; box-shadow: 0 4px 12px rgba(0,0,0,0.15);' />"
+            + "<p style='margin: 8px 0 0; color: #666;'>City Lights 🌃</p></div>"
+
+            + "</div>"
+
+            // Security Note
+            + "<div style='background: #e3f2fd; padding: 15px; border-radius: 8px; margin-top: 20px; border-left: 4px solid #2196f3;'>"
+            + "<h3 style='color: #1565c0; margin: 0;'>🔒 Security Note:</h3>"
+            + "<p style='margin: 10px 0 0 0;'>These photos are <strong>ONLY visible to you</strong> because:<br>"
+            + "1. Your JWT was validated ✓<br>"
+            + "2. Your User ID was extracted ✓<br>"
+            + "3. Photos are filtered by YOUR User ID ✓</p></div>"
+
+            + "</div>";
+
+    // fragments[i] is written before slots[i]; the last fragment has no slot after it
+    private final byte[][] fragments;
+    private final Slot[] slots;
+    private final byte[] templateHash;
+
+    public PhotosPageRenderer() {
+        List<byte[]> fragmentList = new ArrayList<>();
+        List<Slot> slotList = new ArrayList<>();
+        Matcher matcher = SLOT_PATTERN.matcher(TEMPLATE);
+        int last = 0;
+        while (matcher.find()) {
+            fragmentList.add(TEMPLATE.substring(last, matcher.start()).getBytes(StandardCharsets.UTF_8));
+            slotList.add(Slot.valueOf(matcher.group(1)));
+            last = matcher.end();
+        }
+        fragmentList.add(TEMPLATE.substring(last).getBytes(StandardCharsets.UTF_8));
+
+        this.fragments = fragmentList.toArray(new byte[0][]);
+        this.slots = slotList.toArray(new Slot[0]);
+        this.templateHash = sha256().digest(TEMPLATE.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Strong ETag for this user's page: template version + every per-user value.
+     */
+    public String etag(String userId, String email, String name) {
+        MessageDigest digest = sha256();
+        digest.update(templateHash);
+        for (String value : new String[] { userId, email, name }) {
+            digest.update((byte) 0); // separator, so ("ab","c") != ("a","bc")
+            if (value != null) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    public void render(OutputStream out, String userId, String email, String name) throws IOException {
+        String shortId = userId.substring(0, Math.min(6, userId.length()));
+        for (int i = 0; i < slots.length; i++) {
+            out.write(fragments[i]);
+            switch (slots[i]) {
+                case USER_ID -> writeEscaped(out, userId);
+                case EMAIL -> writeEscaped(out, email != null ? email : "N/A");
+                case NAME -> writeEscaped(out, name != null ? name : "N/A");
+                case SHORT_ID -> writeEscaped(out, shortId);
+            }
+        }
+        out.write(fragments[fragments.length - 1]);
+    }
+
+    // HTML escape + UTF-8 encode in one pass, no intermediate String
+    static void writeEscaped(OutputStream out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.write(AMP);
+                case '<' -> out.write(LT);
+                case '>' -> out.write(GT);
+                case '"' -> out.write(QUOT);
+                case '\'' -> out.write(APOS);
+                default -> {
+                    if (c < 0x80) {
+                        out.write(c);
+                    } else {
+                        int codePoint = value.codePointAt(i);
+                        out.write(new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8));
+                        i += Character.charCount(codePoint) - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
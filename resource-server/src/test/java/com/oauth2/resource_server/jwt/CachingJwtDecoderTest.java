@@ -0,0 +1,146 @@
+package com.oauth2.resource_server.jwt;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ⚡ CachingJwtDecoder - TTL = min(exp - now, maxTtl), exp leni token cache avvadu, expire ayina token decode avvadu.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Duration MAX_TTL = Duration.ofMinutes(10);
+
+    private final FakeTime time = new FakeTime(Instant.parse("2026-01-01T00:00:00Z"));
+    private final Map<String, Jwt> issued = new HashMap<>();
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+
+    // Real decoder laane: exp daatina token reject
+    private final JwtDecoder delegate = token -> {
+        delegateCalls.incrementAndGet();
+        Jwt jwt = issued.get(token);
+        if (jwt == null || (jwt.getExpiresAt() != null && !jwt.getExpiresAt().isAfter(time.instant()))) {
+            throw new BadJwtException("invalid or expired");
+        }
+        return jwt;
+    };
+
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, MAX_TTL, time, time);
+
+    @Test
+    void shortLivedTokenIsCachedUntilItsExp() {
+        issue("short", Duration.ofMinutes(2));
+
+        Jwt first = decoder.decode("short");
+        time.advance(Duration.ofSeconds(119));
+        assertSame(first, decoder.decode("short"));
+        assertEquals(1, delegateCalls.get());
+
+        // exp daatindi - cache lo ledu, delegate reject
+        time.advance(Duration.ofSeconds(2));
+        assertThrows(BadJwtException.class, () -> decoder.decode("short"));
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    void longLivedTokenIsCachedForAtMostMaxTtl() {
+        issue("long", Duration.ofHours(1));
+
+        decoder.decode("long");
+        time.advance(MAX_TTL.minusSeconds(1));
+        decoder.decode("long");
+        assertEquals(1, delegateCalls.get());
+
+        // maxTtl tarvata malli full verification (token inka valid)
+        time.advance(Duration.ofSeconds(2));
+        decoder.decode("long");
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    void tokenWithoutExpIsNeverCached() {
+        issued.put("no-exp", Jwt.withTokenValue("no-exp").header("alg", "RS256").subject("user-1").build());
+
+        decoder.decode("no-exp");
+        decoder.decode("no-exp");
+
+        assertEquals(2, delegateCalls.get());
+        assertEquals(0L, decoder.stats().get("hits"));
+    }
+
+    @Test
+    void failedTokensAreNotCached() {
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    void statsCountHitsAndVerifications() {
+        issue("token", Duration.ofMinutes(5));
+
+        decoder.decode("token");
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertEquals(2L, decoder.stats().get("hits"));
+        assertEquals(1L, decoder.stats().get("verifications"));
+    }
+
+    private void issue(String token, Duration lifetime) {
+        Instant now = time.instant();
+        issued.put(token, Jwt.withTokenValue(token).header("alg", "RS256").subject("user-1")
+                .issuedAt(now).expiresAt(now.plus(lifetime)).build());
+    }
+
+    // Clock (exp compare) + Ticker (Caffeine expiry) okate time - advance chesthe rendu kadulutayi
+    private static final class FakeTime extends Clock implements Ticker {
+
+        private final Instant start;
+        private long elapsedNanos;
+
+        FakeTime(Instant start) {
+            this.start = start;
+        }
+
+        void advance(Duration duration) {
+            elapsedNanos += duration.toNanos();
+        }
+
+        @Override
+        public long read() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public Instant instant() {
+            return start.plusNanos(elapsedNanos);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
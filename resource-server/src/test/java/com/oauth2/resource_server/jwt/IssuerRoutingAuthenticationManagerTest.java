@@ -0,0 +1,199 @@
+package com.oauth2.resource_server.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.oauth2.resource_server.revocation.RevocationList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🧭 Issuer routing - untrusted / mismatched iss 401, revoked token cache hit lo kuda reject, discovery fail 401.
+ */
+class IssuerRoutingAuthenticationManagerTest {
+
+    private static final String ISSUER = "https://issuer.example.test";
+
+    @TempDir
+    Path dir;
+
+    private RSAKey signingKey;
+    private CachingJwtDecoder decoder;
+    private RevocationList revocationList;
+    private IssuerRoutingAuthenticationManager manager;
+    private String unreachableIssuer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        NimbusJwtDecoder nimbus = NimbusJwtDecoder.withPublicKey(signingKey.toRSAPublicKey()).build();
+        nimbus.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        decoder = new CachingJwtDecoder(nimbus, 100, Duration.ofHours(1));
+        revocationList = new RevocationList(dir.resolve("revoked.txt"), Duration.ofHours(24), Duration.ofHours(1),
+                16, 0.01);
+        // Trusted kani discovery kosam evaru vinatledu - port teesukuni close
+        try (ServerSocket socket = new ServerSocket(0)) {
+            unreachableIssuer = "http://127.0.0.1:" + socket.getLocalPort();
+        }
+        manager = new IssuerRoutingAuthenticationManager(Set.of(ISSUER, unreachableIssuer), Map.of(ISSUER, decoder),
+                revocationList, 100, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        revocationList.destroy();
+    }
+
+    @Test
+    void validTokenFromTrustedIssuerAuthenticates() throws Exception {
+        String token = sign(claims(ISSUER, "jti-1"), signingKey);
+
+        Authentication authenticated = manager.authenticate(bearer(token));
+
+        assertEquals("user-1", authenticated.getName());
+    }
+
+    @Test
+    void unknownIssuerIsUnauthorizedBeforeAnyCrypto() throws Exception {
+        String token = sign(claims("https://evil.example.test", "jti-1"), signingKey);
+
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(bearer(token)));
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(bearer("not-a-jwt")));
+        assertEquals(1L, manager.stats().get("untrustedRejections"));
+        assertEquals(Map.of(), manager.stats().get("issuers"));
+    }
+
+    @Test
+    void tokenSignedByAnotherKeyFailsValidation() throws Exception {
+        RSAKey otherKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        String token = sign(claims(ISSUER, "jti-1"), otherKey);
+
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(bearer(token)));
+    }
+
+    @Test
+    void issuerThatDoesNotMatchRoutedDecoderFailsValidation() throws Exception {
+        // Routing peek first "iss" chustundi; decoder full claims tho validate - rendu match kaakapothe 401
+        long now = Instant.now().getEpochSecond();
+        String json = "{\"iss\":\"" + ISSUER + "\",\"sub\":\"user-1\",\"iat\":" + now + ",\"exp\":" + (now + 600)
+                + ",\"iss\":\"https://evil.example.test\"}";
+        String token = signRaw(json, signingKey);
+        assertEquals(ISSUER, UnverifiedIssuer.peek(token));
+
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(bearer(token)));
+    }
+
+    @Test
+    void routedDecoderRejectsIssuerItWasNotBuiltFor() throws Exception {
+        // Google route ki vere trusted issuer token - peek other, decoder Google validator
+        IssuerRoutingAuthenticationManager misrouted = new IssuerRoutingAuthenticationManager(
+                Set.of("https://other.example.test"), Map.of("https://other.example.test", decoder),
+                revocationList, 100, Duration.ofHours(1));
+        String token = sign(claims("https://other.example.test", "jti-1"), signingKey);
+
+        assertThrows(InvalidBearerTokenException.class, () -> misrouted.authenticate(bearer(token)));
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenFromCache() throws Exception {
+        String token = sign(claims(ISSUER, "jti-revoke-me"), signingKey);
+        manager.authenticate(bearer(token));
+        manager.authenticate(bearer(token));
+        assertEquals(1L, decoder.stats().get("hits"));
+
+        revocationList.revokeJti("jti-revoke-me", Instant.now().plusSeconds(3600));
+
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(bearer(token)));
+        assertEquals(2L, decoder.stats().get("hits"));
+    }
+
+    @Test
+    void revokedTokenDigestIsRejected() throws Exception {
+        String token = sign(claims(ISSUER, null), signingKey);
+        revocationList.revokeToken(token, Instant.now().plusSeconds(3600));
+
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(bearer(token)));
+    }
+
+    @Test
+    void failedDiscoveryForTrustedIssuerIsUnauthorized() throws Exception {
+        String token = sign(claims(unreachableIssuer, "jti-1"), signingKey);
+
+        InvalidBearerTokenException ex = assertThrows(InvalidBearerTokenException.class,
+                () -> manager.authenticate(bearer(token)));
+        assertTrue(ex.getMessage().contains("unavailable"));
+        // Malli try chesthe kuda same 401 - 5xx ledu
+        assertThrows(InvalidBearerTokenException.class, () -> manager.authenticate(bearer(token)));
+        assertEquals(2L, manager.stats().get("discoveryFailures"));
+    }
+
+    @Test
+    void peekReadsOnlyTopLevelIssuer() {
+        assertEquals(ISSUER, UnverifiedIssuer.findTopLevelString(
+                "{\"nested\":{\"iss\":\"inner\"},\"list\":[\"iss\"],\"iss\":\"" + ISSUER + "\"}", "iss"));
+        assertEquals("a\"b/c", UnverifiedIssuer.findTopLevelString("{\"iss\":\"a\\\"b\\/c\"}", "iss"));
+        assertNull(UnverifiedIssuer.findTopLevelString("{\"iss\":42}", "iss"));
+        assertNull(UnverifiedIssuer.findTopLevelString("{\"sub\":\"iss\"}", "iss"));
+        assertNull(UnverifiedIssuer.peek("header.%%%.signature"));
+        assertNull(UnverifiedIssuer.peek("no-dots"));
+    }
+
+    private static JWTClaimsSet claims(String issuer, String jti) {
+        Instant now = Instant.now();
+        return new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject("user-1")
+                .jwtID(jti)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(600)))
+                .build();
+    }
+
+    private static String sign(JWTClaimsSet claims, RSAKey key) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    // Raw payload JSON tho sign - duplicate "iss" laanti malformed claims kosam
+    private static String signRaw(String payloadJson, RSAKey key) throws JOSEException, ParseException {
+        Base64URL header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build().toBase64URL();
+        Base64URL payload = Base64URL.encode(payloadJson.getBytes(StandardCharsets.UTF_8));
+        byte[] signingInput = (header + "." + payload).getBytes(StandardCharsets.US_ASCII);
+        Base64URL signature = new RSASSASigner(key).sign(SignedJWT.parse(header + "." + payload + ".AA").getHeader(),
+                signingInput);
+        return header + "." + payload + "." + signature;
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String token) {
+        return new BearerTokenAuthenticationToken(token);
+    }
+}
@@ -0,0 +1,203 @@
+package com.oauth2.resource_server.jwt;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🔑 JwksKeyStore - bundled keys tho offline boot, unknown kid ki cooldown lo okka refetch, snapshot swap,
+ * empty key set vaste patha keys alane.
+ */
+class JwksKeyStoreTest {
+
+    // Boot refresh jitter lo random - test lo eppudu raakunda chala dooram
+    private static final Duration FAR_AWAY = Duration.ofDays(3650);
+
+    private HttpServer jwks;
+    private volatile String served;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final List<JwksKeyStore> stores = new ArrayList<>();
+
+    @BeforeEach
+    void startJwks() throws IOException {
+        jwks = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        jwks.createContext("/certs", exchange -> {
+            try (exchange) {
+                fetches.incrementAndGet();
+                byte[] body = served.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        jwks.start();
+    }
+
+    @AfterEach
+    void stop() {
+        stores.forEach(JwksKeyStore::destroy);
+        jwks.stop(0);
+    }
+
+    @Test
+    void bootsOfflineFromBundledKeys() throws Exception {
+        JwksKeyStore store = open("http://127.0.0.1:1/unreachable", Duration.ofSeconds(30));
+        Set<String> bundled = bundledKids();
+
+        assertEquals(bundled, store.stats().get("keys"));
+        assertEquals("bundled", store.stats().get("source"));
+        for (String kid : bundled) {
+            assertEquals(kid, store.get(byKid(kid), null).get(0).getKeyID());
+        }
+        assertEquals(0, fetches.get());
+    }
+
+    @Test
+    void concurrentUnknownKidMissesTriggerOneRefreshPerCooldown() throws Exception {
+        RSAKey rotated = key("rotated-kid");
+        served = new JWKSet(rotated.toPublicJWK()).toString();
+        JwksKeyStore store = open(uri(), Duration.ofHours(1));
+
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            callers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                    // Miss fail fast - request refresh kosam wait cheyyadu
+                    store.get(byKid("rotated-kid"), null);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        awaitRefreshes(store, 1);
+
+        assertEquals(1, fetches.get());
+        assertEquals(1L, store.stats().get("unknownKidRefreshes"));
+        assertEquals((long) threads, (long) store.stats().get("hits") + (long) store.stats().get("misses"));
+        assertEquals("rotated-kid", store.get(byKid("rotated-kid"), null).get(0).getKeyID());
+
+        // Cooldown lo inko forged kid - refetch trigger avvadu
+        assertTrue(store.get(byKid("forged-kid"), null).isEmpty());
+        assertEquals(1L, store.stats().get("unknownKidRefreshes"));
+        Thread.sleep(100);
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void refreshSwapsWholeSnapshot() throws Exception {
+        served = new JWKSet(List.of(key("kid-a").toPublicJWK(), key("kid-b").toPublicJWK())).toString();
+        JwksKeyStore store = open(uri(), Duration.ofSeconds(30));
+
+        store.refreshAsync().get(5, TimeUnit.SECONDS);
+        assertEquals(Set.of("kid-a", "kid-b"), store.stats().get("keys"));
+        assertEquals(uri(), store.stats().get("source"));
+
+        // Rotation: kid-a poyindi, kid-c vachindi - patha key inka select avvadu
+        served = new JWKSet(List.of(key("kid-b").toPublicJWK(), key("kid-c").toPublicJWK())).toString();
+        store.refreshAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(Set.of("kid-b", "kid-c"), store.stats().get("keys"));
+        assertTrue(store.get(byKid("kid-a"), null).isEmpty());
+        assertEquals(1, store.get(byKid("kid-c"), null).size());
+        assertEquals(2L, store.stats().get("refreshes"));
+    }
+
+    @Test
+    void emptyKeySetKeepsPreviousKeys() throws Exception {
+        served = "{\"keys\":[]}";
+        JwksKeyStore store = open(uri(), Duration.ofSeconds(30));
+        Set<String> bundled = bundledKids();
+
+        store.refreshAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, fetches.get());
+        assertEquals(bundled, store.stats().get("keys"));
+        assertEquals("bundled", store.stats().get("source"));
+        assertEquals(1L, store.stats().get("refreshFailures"));
+        String kid = bundled.iterator().next();
+        assertEquals(1, store.get(byKid(kid), null).size());
+    }
+
+    @Test
+    void failedRefreshKeepsPreviousKeys() throws Exception {
+        served = "not json";
+        JwksKeyStore store = open(uri(), Duration.ofSeconds(30));
+
+        store.refreshAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(bundledKids(), store.stats().get("keys"));
+        assertEquals(1L, store.stats().get("refreshFailures"));
+    }
+
+    private JwksKeyStore open(String jwkSetUri, Duration unknownKidCooldown) throws IOException {
+        JwksKeyStore store = new JwksKeyStore(jwkSetUri, new ClassPathResource("google-keys.json"), FAR_AWAY,
+                FAR_AWAY, unknownKidCooldown);
+        stores.add(store);
+        return store;
+    }
+
+    private static void awaitRefreshes(JwksKeyStore store, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((long) store.stats().get("refreshes") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, store.stats().get("refreshes"));
+    }
+
+    private String uri() {
+        return "http://127.0.0.1:" + jwks.getAddress().getPort() + "/certs";
+    }
+
+    private static Set<String> bundledKids() throws Exception {
+        try (InputStream in = new ClassPathResource("google-keys.json").getInputStream()) {
+            JWKSet set = JWKSet.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            Set<String> kids = new LinkedHashSet<>();
+            for (JWK key : set.getKeys()) {
+                kids.add(key.getKeyID());
+            }
+            return kids;
+        }
+    }
+
+    private static JWKSelector byKid(String kid) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+    }
+
+    private static RSAKey key(String kid) throws Exception {
+        return new RSAKeyGenerator(2048).keyID(kid).generate();
+    }
+}
@@ -0,0 +1,61 @@
+package com.oauth2.resource_server.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🌸 BloomFilter - false negative eppudu ledu, false positive rate target daggara, sizing formula.
+ */
+class BloomFilterTest {
+
+    @Test
+    void sizingFollowsFormula() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        // m = ceil(-1000 ln 0.01 / (ln 2)^2) = 9586 → 64 multiple; k = round(m / n ln 2)
+        assertEquals(9600, filter.numBits());
+        assertEquals(7, filter.numHashes());
+        assertEquals(1000, filter.capacity());
+    }
+
+    @Test
+    void insertedKeysAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti:key-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("jti:key-" + i));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti:key-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("jti:probe-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < probes * 0.02, "false positive rate " + (double) falsePositives / probes);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(16, 0.01);
+
+        assertFalse(filter.mightContain("jti:anything"));
+        assertFalse(filter.mightContain(""));
+    }
+}
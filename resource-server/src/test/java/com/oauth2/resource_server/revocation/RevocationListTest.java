@@ -0,0 +1,163 @@
+package com.oauth2.resource_server.revocation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🚫 RevocationList - jti / token digest revoke, filter false positive, capacity double, ops file edits, sweep.
+ */
+class RevocationListTest {
+
+    private static final Instant LATER = Instant.now().plus(Duration.ofHours(1));
+
+    @TempDir
+    Path dir;
+
+    private final List<RevocationList> opened = new ArrayList<>();
+
+    @AfterEach
+    void stopSweepers() {
+        opened.forEach(RevocationList::destroy);
+    }
+
+    @Test
+    void revokedJtiIsRejected() throws IOException {
+        RevocationList list = open(16, 0.01);
+
+        list.revokeJti("jti-1", LATER);
+
+        assertTrue(list.isRevoked(jwt("jti-1"), "token-1"));
+        assertFalse(list.isRevoked(jwt("jti-2"), "token-2"));
+        assertFalse(list.isRevoked(jwt(null), "token-1"));
+        assertEquals(1L, list.stats().get("rejections"));
+        assertTrue(Files.readString(file()).startsWith(RevocationList.JTI_PREFIX + "jti-1 "));
+    }
+
+    @Test
+    void revokedTokenDigestIsRejected() throws IOException {
+        RevocationList list = open(16, 0.01);
+
+        list.revokeToken("raw-token", LATER);
+
+        // jti leni token kuda digest tho pattukuntam; file lo token text ledu, digest matrame
+        assertTrue(list.isRevoked(jwt(null), "raw-token"));
+        assertTrue(list.isRevoked(jwt("unrelated-jti"), "raw-token"));
+        assertFalse(list.isRevoked(jwt(null), "other-token"));
+        String stored = Files.readString(file());
+        assertTrue(stored.startsWith(RevocationList.TOKEN_PREFIX + RevocationList.digest("raw-token") + " "));
+        assertFalse(stored.contains("raw-token"));
+    }
+
+    @Test
+    void filterFalsePositiveIsCaughtByExactMap() throws IOException {
+        // Chinna, loose filter - false positives tvaraga vastayi
+        RevocationList list = open(16, 0.5);
+        for (int i = 0; i < 15; i++) {
+            list.revokeJti("revoked-" + i, LATER);
+        }
+
+        long probes = 0;
+        while ((long) list.stats().get("falsePositives") == 0 && probes < 100_000) {
+            assertFalse(list.isRevoked(jwt("probe-" + probes), "token"));
+            probes++;
+        }
+
+        assertEquals(1L, list.stats().get("falsePositives"));
+        assertEquals(0L, list.stats().get("rejections"));
+        assertEquals(1L, list.stats().get("filterHits"));
+    }
+
+    @Test
+    void filterCapacityDoublesWhenFull() throws IOException {
+        RevocationList list = open(16, 0.01);
+        long rebuilds = (long) list.stats().get("rebuilds");
+        for (int i = 0; i < 16; i++) {
+            list.revokeJti("jti-" + i, LATER);
+        }
+        assertEquals(16, list.stats().get("filterCapacity"));
+
+        list.revokeJti("jti-16", LATER);
+
+        assertEquals(32, list.stats().get("filterCapacity"));
+        assertEquals(rebuilds + 1, list.stats().get("rebuilds"));
+        for (int i = 0; i <= 16; i++) {
+            assertTrue(list.isRevoked(jwt("jti-" + i), "token"));
+        }
+    }
+
+    @Test
+    void opsFileEditsAreReloadedIncludingUnrevoke() throws IOException {
+        long later = LATER.getEpochSecond();
+        Files.writeString(file(), "# ops list\njti:keep " + later + "\njti:drop " + later + "\n");
+        RevocationList list = open(16, 0.01);
+        assertTrue(list.isRevoked(jwt("keep"), "token"));
+        assertTrue(list.isRevoked(jwt("drop"), "token"));
+
+        // Ops "drop" line teesesi kotha di + malformed lines add chesaru
+        Files.writeString(file(), "jti:keep " + later + "\njti:added " + later + "\nnot-a-key 1\njti:bad soon\n");
+        Files.setLastModifiedTime(file(), FileTime.from(Instant.now().plusSeconds(5)));
+        list.sweep();
+
+        assertTrue(list.isRevoked(jwt("keep"), "token"));
+        assertTrue(list.isRevoked(jwt("added"), "token"));
+        assertFalse(list.isRevoked(jwt("drop"), "token"));
+        assertEquals(2, list.stats().get("entries"));
+    }
+
+    @Test
+    void sweepDropsExpiredEntriesAndRewritesFile() throws IOException, InterruptedException {
+        RevocationList list = open(16, 0.01);
+        Instant soon = Instant.now().plusMillis(1200);
+        list.revokeJti("short-lived", soon);
+        list.revokeJti("long-lived", LATER);
+        assertTrue(list.isRevoked(jwt("short-lived"), "token"));
+
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), soon).toMillis() + 50));
+        list.sweep();
+
+        assertFalse(list.isRevoked(jwt("short-lived"), "token"));
+        assertTrue(list.isRevoked(jwt("long-lived"), "token"));
+        assertEquals(1, list.stats().get("entries"));
+        assertEquals(List.of("jti:long-lived " + LATER.getEpochSecond()), Files.readAllLines(file()));
+
+        // Rewrite tarvata restart - expired entry malli raadu
+        RevocationList restarted = open(16, 0.01);
+        assertFalse(restarted.isRevoked(jwt("short-lived"), "token"));
+        assertTrue(restarted.isRevoked(jwt("long-lived"), "token"));
+    }
+
+    private RevocationList open(int expectedEntries, double falsePositiveRate) throws IOException {
+        // Sweep test lo direct ga - scheduler ee test lo eppudu run avvadu
+        RevocationList list = new RevocationList(file(), Duration.ofHours(24), Duration.ofHours(1), expectedEntries,
+                falsePositiveRate);
+        opened.add(list);
+        return list;
+    }
+
+    private Path file() {
+        return dir.resolve("revoked.txt");
+    }
+
+    private static Jwt jwt(String jti) {
+        Jwt.Builder builder = Jwt.withTokenValue("token").header("alg", "RS256").subject("user-1");
+        if (jti != null) {
+            builder.jti(jti);
+        }
+        return builder.build();
+    }
+}